@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BookingInsertBenchmark {
+    private static final int BOOKINGS_PER_TRANSACTION = 100;
+    private static final int ITEMS = 100;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private BookingRepository bookingRepository;
+    private List<Item> items;
+    private User booker;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] args = Stream.concat(Stream.of(ServiceBenchmark.SERVER_ARGS),
+                        Stream.of("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize))
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        new CatalogueSeeder(context.getBean(JdbcTemplate.class)).seed(ITEMS);
+        items = context.getBean(ItemRepository.class).findAll();
+        booker = context.getBean(UserRepository.class).findAll().get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS_PER_TRANSACTION)
+    public void insertBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(BOOKINGS_PER_TRANSACTION);
+        for (int i = 0; i < BOOKINGS_PER_TRANSACTION; i++) {
+            Item item = items.get((int) (sequence++ % ITEMS));
+            bookings.add(new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING));
+        }
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+    }
+}
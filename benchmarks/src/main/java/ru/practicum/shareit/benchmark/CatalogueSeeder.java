@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class CatalogueSeeder {
+    static final int ITEMS_PER_OWNER = 10;
+    private static final int BOOKERS = 100;
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CatalogueSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    int seed(int items) {
+        int owners = Math.max(1, items / ITEMS_PER_OWNER);
+        LocalDateTime now = LocalDateTime.now();
+
+        Batch users = new Batch("insert into users (id, name, email) values (?, ?, ?)");
+        for (long id = 1; id <= owners + BOOKERS; id++) {
+            users.add(id, "User " + id, "user" + id + "@example.com");
+        }
+        users.flush();
+
+        // each item gets one comment below; with a zero count the services would skip loading it
+        Batch itemRows = new Batch("insert into items (id, name, description, is_available, owner_id, comment_count) "
+                + "values (?, ?, ?, ?, ?, ?)");
+        Batch bookings = new Batch("insert into bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "values (?, ?, ?, ?, ?, ?)");
+        Batch comments = new Batch("insert into comments (id, text, item_id, author_id, created) "
+                + "values (?, ?, ?, ?, ?)");
+        for (long id = 1; id <= items; id++) {
+            long ownerId = (id - 1) / ITEMS_PER_OWNER + 1;
+            long bookerId = owners + 1 + id % BOOKERS;
+            itemRows.add(id, "Item " + id, "Description of item " + id, true, ownerId, 1);
+            bookings.add(2 * id - 1, Timestamp.valueOf(now.minusDays(3)), Timestamp.valueOf(now.minusDays(2)),
+                    id, bookerId, "APPROVED");
+            bookings.add(2 * id, Timestamp.valueOf(now.plusDays(2)), Timestamp.valueOf(now.plusDays(3)),
+                    id, bookerId, "APPROVED");
+            comments.add(id, "Comment " + id, id, bookerId, Timestamp.valueOf(now.minusDays(1)));
+        }
+        itemRows.flush();
+        bookings.flush();
+        comments.flush();
+
+        restartSequence("user_seq", owners + BOOKERS + 1L);
+        restartSequence("item_seq", items + 1L);
+        restartSequence("booking_seq", 2L * items + 1);
+        restartSequence("comment_seq", items + 1L);
+        return owners;
+    }
+
+    // rows above carry explicit ids, so entities persisted later would collide without this
+    private void restartSequence(String name, long next) {
+        jdbcTemplate.execute("alter sequence " + name + " restart with " + next);
+    }
+
+    private class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
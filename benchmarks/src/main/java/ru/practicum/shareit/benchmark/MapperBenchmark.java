@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private Booking booking;
+    private Item item;
+    private BookingShortDto lastBooking;
+    private BookingShortDto nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "Owner", "owner@example.com");
+        User booker = new User(2L, "Booker", "booker@example.com");
+        ItemRequest request = new ItemRequest(1L, "Нужна дрель", booker, now.minusDays(5));
+        item = new Item(1L, "Дрель", "Дрель ударная, 800 Вт", true, owner, request);
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED);
+
+        lastBooking = new BookingShortDto(1L, 2L, now.minusDays(3), now.minusDays(2));
+        nextBooking = new BookingShortDto(2L, 2L, now.plusDays(1), now.plusDays(2));
+        comments = List.of(
+                new CommentDto(1L, "Отличная дрель", "Booker", now.minusDays(1)),
+                new CommentDto(2L, "Сверлит бетон", "Booker", now.minusHours(5))
+        );
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public ItemWithBookingDto toItemWithBookingDto() {
+        return ItemMapper.toItemWithBookingDto(item, lastBooking, nextBooking, comments);
+    }
+}
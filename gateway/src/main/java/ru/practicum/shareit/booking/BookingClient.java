@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -19,22 +22,21 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         @Qualifier("shareItServerStreamingRequestFactory")
+                         ClientHttpRequestFactory streamingRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                streamingRequestFactory
         );
     }
 
-    public ResponseEntity<Object> findBookerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findBookerBookings(long userId, BookingState state, String cursor, Integer from, Integer size) {
+        return get(listQuery(cursor), userId, listParameters(state, cursor, from, size));
     }
 
     public ResponseEntity<Object> createBooking(long userId, BookingRequestDto requestDto) {
@@ -52,12 +54,26 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> findOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findOwnerBookings(long userId, BookingState state, String cursor, Integer from, Integer size) {
+        return get("/owner" + listQuery(cursor), userId, listParameters(state, cursor, from, size));
+    }
+
+    private static String listQuery(String cursor) {
+        StringJoiner query = new StringJoiner("&", "?", "").add("state={state}").add("from={from}").add("size={size}");
+        if (cursor != null) {
+            query.add("cursor={cursor}");
+        }
+        return query.toString();
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, String cursor, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
@@ -41,20 +41,22 @@ public class BookingController {
     @GetMapping()
     public ResponseEntity<Object> findBookerBookings(@RequestParam(defaultValue = "ALL") String stateParam,
                                                      @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                                     @RequestParam(required = false) String cursor,
                                                      @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                      @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.findBookerBookings(userId, state, from, size);
+        return bookingClient.findBookerBookings(userId, state, cursor, from, size);
     }
 
     @GetMapping(ownerIdPath)
     public ResponseEntity<Object> findOwnerBookings(@RequestParam(defaultValue = "ALL") String stateParam,
                                                     @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                                    @RequestParam(required = false) String cursor,
                                                     @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                     @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.findOwnerBookings(userId, state, from, size);
+        return bookingClient.findOwnerBookings(userId, state, cursor, from, size);
     }
 }
\ No newline at end of file
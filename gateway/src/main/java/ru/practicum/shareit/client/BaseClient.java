@@ -1,20 +1,41 @@
 package ru.practicum.shareit.client;
 
+import org.apache.hc.client5.http.ConnectionRequestTimeoutException;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.util.Constants;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            Constants.NEXT_CURSOR_HEADER
+    );
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     protected final RestTemplate rest;
+    private final RestTemplate streamingRest;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ClientHttpRequestFactory streamingRequestFactory) {
         this.rest = rest;
+        this.streamingRest = new RestTemplate(streamingRequestFactory);
+        this.streamingRest.setUriTemplateHandler(rest.getUriTemplateHandler());
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -42,6 +63,10 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    protected ResponseEntity<Object> post(String path, Long userId, MediaType contentType, Resource body) {
+        return makeAndSendRequest(streamingRest, HttpMethod.POST, path, userId, null, contentType, body);
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -80,26 +105,73 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           MediaType accept) throws IOException {
+        URI uri = streamingRest.getUriTemplateHandler().expand(path, parameters == null ? Map.of() : parameters);
+        ClientHttpRequest request = streamingRest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        request.getHeaders().setAccept(List.of(accept));
+        if (userId != null) {
+            request.getHeaders().set(Constants.USER_ID_HEADER, String.valueOf(userId));
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = request.execute();
+        } catch (ConnectionRequestTimeoutException e) {
+            // the streaming pool is full; ordinary calls keep their own pool
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        copyPassthroughHeaders(response.getHeaders(), responseBuilder);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            byte[] error;
+            try (response) {
+                error = response.getBody().readAllBytes();
+            }
+            return responseBuilder.body(out -> out.write(error));
+        }
+
+        return responseBuilder.body(out -> {
+            try (response) {
+                InputStream in = response.getBody();
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            }
+        });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(rest, method, path, userId, parameters, MediaType.APPLICATION_JSON, body);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(RestTemplate template, HttpMethod method, String path,
+                                                          Long userId, @Nullable Map<String, Object> parameters,
+                                                          MediaType contentType, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, contentType));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (!CollectionUtils.isEmpty(parameters)) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = template.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = template.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set(Constants.USER_ID_HEADER, String.valueOf(userId));
@@ -107,17 +179,28 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status,
+                                                                 @Nullable HttpHeaders serverHeaders,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (serverHeaders != null) {
+            copyPassthroughHeaders(serverHeaders, responseBuilder);
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(body);
+    }
+
+    private static void copyPassthroughHeaders(HttpHeaders serverHeaders, ResponseEntity.BodyBuilder responseBuilder) {
+        for (String name : PASSTHROUGH_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                responseBuilder.header(name, values.toArray(String[]::new));
+            }
+        }
     }
-}
\ No newline at end of file
+}
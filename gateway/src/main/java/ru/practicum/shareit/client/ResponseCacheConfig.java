@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    public Cache<ResponseCacheInterceptor.Key, ResponseCacheInterceptor.CachedResponse> shareItServerResponseCache(
+            @Value("${shareit-server.response-cache.max-bytes:64MB}") DataSize maxBytes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .<ResponseCacheInterceptor.Key, ResponseCacheInterceptor.CachedResponse>weigher(
+                        (key, response) -> response.body().length)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public RestTemplateCustomizer shareItServerResponseCacheCustomizer(
+            Cache<ResponseCacheInterceptor.Key, ResponseCacheInterceptor.CachedResponse> shareItServerResponseCache) {
+        ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(shareItServerResponseCache);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    public MeterBinder shareItServerResponseCacheMetrics(
+            Cache<ResponseCacheInterceptor.Key, ResponseCacheInterceptor.CachedResponse> shareItServerResponseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, shareItServerResponseCache, "shareit-server-responses");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> gatewayEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+        return registration;
+    }
+}
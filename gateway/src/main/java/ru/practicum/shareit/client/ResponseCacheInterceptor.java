@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.util.Constants;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private final Cache<Key, CachedResponse> cache;
+
+    public ResponseCacheInterceptor(Cache<Key, CachedResponse> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET
+                || !request.getHeaders().getAccept().contains(MediaType.APPLICATION_JSON)) {
+            return execution.execute(request, body);
+        }
+
+        Key key = new Key(request.getURI(), request.getHeaders().getFirst(Constants.USER_ID_HEADER));
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.etag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.close();
+            return cached.toResponse();
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK) || etag == null) {
+            if (cached != null) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+
+        byte[] bytes;
+        try (response) {
+            bytes = response.getBody().readAllBytes();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        CachedResponse fresh = new CachedResponse(etag, HttpHeaders.readOnlyHttpHeaders(headers), bytes);
+        cache.put(key, fresh);
+        return fresh.toResponse();
+    }
+
+    public record Key(URI uri, String userId) {
+    }
+
+    public record CachedResponse(String etag, HttpHeaders headers, byte[] body) {
+
+        ClientHttpResponse toResponse() {
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.OK.getReasonPhrase();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -1,30 +1,42 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Qualifier("shareItServerStreamingRequestFactory")
+                      ClientHttpRequestFactory streamingRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                streamingRequestFactory
         );
     }
 
@@ -36,17 +48,64 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findByText(String text, Long userId) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
-        return get("/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> findByText(String text, String cursor, Integer from, Integer size, Long userId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        StringJoiner query = new StringJoiner("&", "?", "").add("text={text}").add("from={from}").add("size={size}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query.add("cursor={cursor}");
+        }
+        return get("/search" + query, userId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamByText(String text, String cursor, Long userId)
+            throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        StringJoiner query = new StringJoiner("&", "?", "").add("text={text}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query.add("cursor={cursor}");
+        }
+        return stream("/search" + query, userId, parameters, MediaType.APPLICATION_NDJSON);
+    }
+
+    public ResponseEntity<Object> findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (from != null) {
+            parameters.put("from", from);
+            query.add("from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            query.add("to={to}");
+        }
+        return get("/" + itemId + "/availability" + query, null, parameters);
+    }
+
+    public ResponseEntity<Object> findComments(Long itemId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        StringJoiner query = new StringJoiner("&", "?", "").add("size={size}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query.add("cursor={cursor}");
+        }
+        return get("/" + itemId + "/comments" + query, null, parameters);
     }
 
     public ResponseEntity<Object> create(ItemCreateDto itemDto, Long userId) {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> createBulk(Resource ndjson, Long userId) {
+        return post("/bulk", userId, MediaType.APPLICATION_NDJSON, ndjson);
+    }
+
     public ResponseEntity<Object> update(ItemUpdateDto itemDto, Long userId, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -1,18 +1,31 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.util.Constants;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/items")
 public class ItemController {
     private final String itemsIdPath = "/{id}";
     private final String searchPath = "/search";
     private final String commentPath = "/{itemId}/comment";
+    private final String commentsPath = "/{itemId}/comments";
+    private final String availabilityPath = "/{itemId}/availability";
+    private final String bulkPath = "/bulk";
     private final ItemClient itemClient;
 
     @Autowired
@@ -34,8 +47,36 @@ public class ItemController {
 
     @GetMapping(searchPath)
     public ResponseEntity<Object> findItemByText(@RequestParam(required = false) String text,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "0") Integer from,
+                                                 @RequestParam(defaultValue = "10") Integer size,
                                                  @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId) {
-        return itemClient.findByText(text, userId);
+        return itemClient.findByText(text, cursor, from, size, userId);
+    }
+
+    @GetMapping(value = searchPath, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemsByText(@RequestParam(required = false) String text,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                                                   HttpServletRequest request) throws IOException {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return itemClient.streamByText(text, cursor, userId);
+    }
+
+    @GetMapping(availabilityPath)
+    public ResponseEntity<Object> findAvailability(@PathVariable Long itemId,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.findAvailability(itemId, from, to);
+    }
+
+    @GetMapping(commentsPath)
+    public ResponseEntity<Object> findComments(@PathVariable Long itemId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") Integer size) {
+        return itemClient.findComments(itemId, cursor, size);
     }
 
     @PostMapping()
@@ -44,6 +85,12 @@ public class ItemController {
         return itemClient.create(itemDto, userId);
     }
 
+    @PostMapping(value = bulkPath, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> createBulk(InputStream ndjson,
+                                             @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId) {
+        return itemClient.createBulk(new InputStreamResource(ndjson), userId);
+    }
+
     @PatchMapping(itemsIdPath)
     public ResponseEntity<Object> update(@RequestBody ItemUpdateDto itemDto,
                                          @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
@@ -1,42 +1,79 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             @Qualifier("shareItServerStreamingRequestFactory")
+                             ClientHttpRequestFactory streamingRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                streamingRequestFactory
         );
     }
 
-    public ResponseEntity<Object> findAll(Long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> findAll(Long userId, String cursor, Integer size) {
+        return get("/all" + pageQuery(cursor, size), userId, pageParameters(cursor, size));
     }
 
     public ResponseEntity<Object> findById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findByRequestorId(Long requestorId) {
-        return get("", requestorId);
+    public ResponseEntity<Object> findByRequestorId(Long requestorId, String cursor, Integer size) {
+        return get(pageQuery(cursor, size), requestorId, pageParameters(cursor, size));
+    }
+
+    public ResponseEntity<Object> findInbox(Long userId, String cursor, Integer size) {
+        return get("/inbox" + pageQuery(cursor, size), userId, pageParameters(cursor, size));
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamUpdates(Long userId) throws IOException {
+        return stream("/updates", userId, null, MediaType.TEXT_EVENT_STREAM);
     }
 
     public ResponseEntity<Object> createItemRequest(ItemRequestCreateDto itemRequestCreateDto, Long userId) {
         return post("", userId, itemRequestCreateDto);
     }
+
+    private static String pageQuery(String cursor, Integer size) {
+        StringJoiner query = new StringJoiner("&", "?", "").add("size={size}");
+        if (cursor != null) {
+            query.add("cursor={cursor}");
+        }
+        return query.toString();
+    }
+
+    private static Map<String, Object> pageParameters(String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 }
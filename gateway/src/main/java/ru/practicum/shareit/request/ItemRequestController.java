@@ -1,17 +1,24 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.util.Constants;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final String requestsIdPath = "/{requestId}";
     private final String allPath = "/all";
+    private final String inboxPath = "/inbox";
+    private final String updatesPath = "/updates";
     private final ItemRequestClient itemRequestClient;
 
     @Autowired
@@ -26,14 +33,32 @@ public class ItemRequestController {
     }
 
     @GetMapping(allPath)
-    public ResponseEntity<Object> findAll(@RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId) {
-        return itemRequestClient.findAll(userId);
+    public ResponseEntity<Object> findAll(@RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "10") Integer size) {
+        return itemRequestClient.findAll(userId, cursor, size);
+    }
+
+    @GetMapping(inboxPath)
+    public ResponseEntity<Object> findInbox(@RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "10") Integer size) {
+        return itemRequestClient.findInbox(userId, cursor, size);
+    }
+
+    @GetMapping(updatesPath)
+    public ResponseEntity<StreamingResponseBody> streamUpdates(@RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+                                                               HttpServletRequest request) throws IOException {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return itemRequestClient.streamUpdates(userId);
     }
 
     @GetMapping()
     public ResponseEntity<Object> findByRequestorId(@RequestHeader(value = Constants.USER_ID_HEADER, required = false)
-                                                    Long requestorId) {
-        return itemRequestClient.findByRequestorId(requestorId);
+                                                    Long requestorId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "10") Integer size) {
+        return itemRequestClient.findByRequestorId(requestorId, cursor, size);
     }
 
     @PostMapping()
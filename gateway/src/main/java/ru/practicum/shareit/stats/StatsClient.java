@@ -0,0 +1,57 @@
+package ru.practicum.shareit.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Service
+public class StatsClient extends BaseClient {
+    private static final String API_PREFIX = "/stats";
+
+    @Autowired
+    public StatsClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                       ClientHttpRequestFactory requestFactory,
+                       @Qualifier("shareItServerStreamingRequestFactory")
+                       ClientHttpRequestFactory streamingRequestFactory) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                streamingRequestFactory
+        );
+    }
+
+    public ResponseEntity<Object> findOwnerStats(Long userId, LocalDate from, LocalDate to) {
+        return findStats("", userId, from, to);
+    }
+
+    public ResponseEntity<Object> findItemStats(Long itemId, Long userId, LocalDate from, LocalDate to) {
+        return findStats("/items/" + itemId, userId, from, to);
+    }
+
+    private ResponseEntity<Object> findStats(String path, Long userId, LocalDate from, LocalDate to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (from != null) {
+            parameters.put("from", from);
+            query.add("from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            query.add("to={to}");
+        }
+        return get(path + query, userId, parameters);
+    }
+}
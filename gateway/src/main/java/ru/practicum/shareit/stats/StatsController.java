@@ -0,0 +1,38 @@
+package ru.practicum.shareit.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.util.Constants;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+    private final String itemStatsPath = "/items/{itemId}";
+    private final StatsClient statsClient;
+
+    @Autowired
+    public StatsController(StatsClient statsClient) {
+        this.statsClient = statsClient;
+    }
+
+    @GetMapping()
+    public ResponseEntity<Object> findOwnerStats(
+            @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return statsClient.findOwnerStats(userId, from, to);
+    }
+
+    @GetMapping(itemStatsPath)
+    public ResponseEntity<Object> findItemStats(
+            @PathVariable Long itemId,
+            @RequestHeader(value = Constants.USER_ID_HEADER, required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return statsClient.findItemStats(itemId, userId, from, to);
+    }
+}
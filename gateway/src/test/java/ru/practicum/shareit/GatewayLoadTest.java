@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.util.Constants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// run with: mvn -pl gateway test -P load-test
+@Tag("load")
+@Slf4j
+@SpringBootTest(
+        classes = ShareItGateway.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.accept-count=" + GatewayLoadTest.CONNECTIONS,
+                "shareit-server.http.max-connections=1000",
+                "shareit-server.http.max-connections-per-route=1000",
+                "shareit-server.http.connection-request-timeout=60s",
+                "logging.level.org.springframework.web.client.RestTemplate=INFO"
+        }
+)
+class GatewayLoadTest {
+    static final int CONNECTIONS = 5000;
+    private static final Duration SERVER_LATENCY = Duration.ofMillis(50);
+    private static final byte[] ITEM = "{\"id\":1,\"name\":\"Дрель\",\"available\":true}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final ExecutorService serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final HttpServer server = startServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void findItem_WithConcurrentConnections_ShouldNotRunOutOfThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/1"))
+                    .header(Constants.USER_ID_HEADER, "1")
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            long started = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            long succeeded = responses.stream()
+                    .map(CompletableFuture::join)
+                    .filter(response -> response.statusCode() == 200)
+                    .count();
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            int peakThreads = threads.getPeakThreadCount();
+            log.info("Запросов: {}, успешных: {}, время: {} с, пропускная способность: {} запросов/с, "
+                    + "пик потоков платформы: {}", CONNECTIONS, succeeded, String.format("%.2f", seconds),
+                    Math.round(CONNECTIONS / seconds), peakThreads);
+
+            assertEquals(CONNECTIONS, succeeded);
+            assertTrue(peakThreads < CONNECTIONS / 10,
+                    "Шлюз не должен выделять поток платформы на соединение, пик потоков: " + peakThreads);
+        }
+    }
+
+    private static HttpServer startServer() {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONNECTIONS));
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONNECTIONS);
+            httpServer.setExecutor(serverExecutor);
+            httpServer.createContext("/", exchange -> {
+                try {
+                    Thread.sleep(SERVER_LATENCY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, ITEM.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(ITEM);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+public record BookingChangedEvent(long bookingId,
+                                  long itemId,
+                                  long ownerId,
+                                  LocalDateTime start,
+                                  LocalDateTime end,
+                                  BookingStatus status,
+                                  long version) {
+
+    public static BookingChangedEvent of(Booking booking) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getVersion() == null ? 0 : booking.getVersion());
+    }
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.util.Constants;
@@ -40,30 +43,48 @@ public class BookingController {
     @GetMapping("/{bookingId}")
     public BookingResponseDto getById(
             @RequestHeader(Constants.USER_ID_HEADER) long userId,
-            @PathVariable long bookingId
+            @PathVariable long bookingId,
+            WebRequest request
     ) {
         log.info("Получен запрос на получение данных о бронировании с id {} пользователем с id {}", bookingId, userId);
+        if (bookingService.findEtag(userId, bookingId).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return bookingService.getById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllByBooker(
+    public ResponseEntity<List<BookingResponseDto>> getAllByBooker(
             @RequestHeader(Constants.USER_ID_HEADER) long userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size
     ) {
         BookingState bookingState = parseBookingState(state);
         log.info("Получен запрос на получение списка бронирований пользователя с id {} в статусе {}", userId, bookingState);
-        return bookingService.getAllByBooker(userId, bookingState);
+        return toResponse(bookingService.getAllByBooker(userId, bookingState, cursor, from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getAllByOwner(
+    public ResponseEntity<List<BookingResponseDto>> getAllByOwner(
             @RequestHeader(Constants.USER_ID_HEADER) long userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size
     ) {
         BookingState bookingState = parseBookingState(state);
         log.info("Получен запрос на получение списка бронирований вещей владельца с id {} в статусе {}", userId, bookingState);
-        return bookingService.getAllByOwner(userId, bookingState);
+        return toResponse(bookingService.getAllByOwner(userId, bookingState, cursor, from, size));
+    }
+
+    private static ResponseEntity<List<BookingResponseDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(Constants.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 
     private BookingState parseBookingState(String state) {
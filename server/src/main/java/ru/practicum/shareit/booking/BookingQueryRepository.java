@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingQueryRepository {
+
+    List<BookingResponseDto> findPage(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                      KeysetCursor after, Pageable page);
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingArchiver;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private static final Comparator<BookingResponseDto> NEWEST_START_FIRST =
+            Comparator.comparing(BookingResponseDto::getStart).thenComparing(BookingResponseDto::getId).reversed();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponseDto> findPage(BookingRole role, long userId, BookingState state, LocalDateTime now,
+                                             KeysetCursor after, Pageable page) {
+        if (state == BookingState.CURRENT || state == BookingState.FUTURE) {
+            return select(Booking.class, role, userId, state, now, after, (int) page.getOffset(), page.getPageSize());
+        }
+
+        int offset = (int) page.getOffset();
+        int limit = offset + page.getPageSize();
+        List<BookingResponseDto> bookings = new ArrayList<>(
+                select(Booking.class, role, userId, state, now, after, 0, limit));
+        // archived bookings all started before the cutoff, so a full page of later starts needs no archive
+        LocalDateTime archivedBefore = now.minus(BookingArchiver.ARCHIVE_AFTER);
+        if (bookings.size() < limit || bookings.get(limit - 1).getStart().isBefore(archivedBefore)) {
+            bookings.addAll(select(ArchivedBooking.class, role, userId, state, now, after, 0, limit));
+            bookings.sort(NEWEST_START_FIRST);
+        }
+        return bookings.subList(Math.min(offset, bookings.size()), Math.min(limit, bookings.size()));
+    }
+
+    private List<BookingResponseDto> select(Class<?> entity, BookingRole role, long userId, BookingState state,
+                                            LocalDateTime now, KeysetCursor after,
+                                            int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> query = cb.createQuery(BookingResponseDto.class);
+        Root<?> booking = query.from(entity);
+        Join<Object, Item> item = booking.join("item");
+        Join<Object, User> booker = booking.join("booker");
+
+        query.select(cb.construct(BookingResponseDto.class,
+                booking.get("id"), booking.get("start"), booking.get("end"),
+                item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                item.get("request").get("id"),
+                booker.get("id"), booker.get("name"), booker.get("email"),
+                booking.get("status")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(switch (role) {
+            case BOOKER -> cb.equal(booking.get("booker").get("id"), userId);
+            case OWNER -> cb.equal(item.get("owner").get("id"), userId);
+        });
+        Predicate statePredicate = statePredicate(cb, booking, state, now);
+        if (statePredicate != null) {
+            predicates.add(statePredicate);
+        }
+        if (after != null) {
+            Path<LocalDateTime> start = booking.get("start");
+            predicates.add(cb.or(
+                    cb.lessThan(start, after.time()),
+                    cb.and(cb.equal(start, after.time()), cb.lessThan(booking.get("id"), after.id()))));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Predicate statePredicate(CriteriaBuilder cb, Root<?> booking, BookingState state,
+                                            LocalDateTime now) {
+        return switch (state) {
+            case ALL -> null;
+            case CURRENT -> cb.and(cb.lessThanOrEqualTo(booking.get("start"), now),
+                    cb.greaterThanOrEqualTo(booking.get("end"), now));
+            case PAST -> cb.lessThan(booking.get("end"), now);
+            case FUTURE -> cb.greaterThan(booking.get("start"), now);
+            case WAITING -> cb.equal(booking.get("status"), BookingStatus.WAITING);
+            case REJECTED -> cb.equal(booking.get("status"), BookingStatus.REJECTED);
+        };
+    }
+}
@@ -1,50 +1,28 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBookerId(Long bookerId, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and ?2 between b.start and b.end")
-    List<Booking> findCurrentBookingsByBookerId(Long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Sort sort);
-
-    List<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Sort sort);
-
-    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1")
-    List<Booking> findByOwnerId(Long ownerId, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and ?2 between b.start and b.end")
-    List<Booking> findCurrentBookingsByOwnerId(Long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.end < ?2")
-    List<Booking> findPastBookingsByOwnerId(Long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.start > ?2")
-    List<Booking> findFutureBookingsByOwnerId(Long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.status = ?2")
-    List<Booking> findByOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
+    // covers everything the booking response shows: the booking, its item and its booker
+    @Query("select concat(cast(b.version as String), '-', cast(b.item.version as String), '-', " +
+            "cast(b.booker.version as String)) " +
+            "from Booking b " +
+            "where b.id = ?1 " +
+            "and (b.booker.id = ?2 or b.item.owner.id = ?2)")
+    Optional<String> findEtag(Long bookingId, Long userId);
 
     @Query("select b from Booking b " +
             "where b.item.id = ?1 " +
@@ -60,10 +38,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "order by b.start asc")
     List<Booking> findNextBookingForItem(Long itemId, LocalDateTime now);
 
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.start < ?2 " +
+            "and b.status = 'APPROVED' " +
+            "and b.end = (select max(b2.end) from Booking b2 " +
+            "where b2.item.id = b.item.id " +
+            "and b2.start < ?2 " +
+            "and b2.status = 'APPROVED')")
+    List<Booking> findLastBookingsForItems(List<Long> itemIds, LocalDateTime now);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.start > ?2 " +
+            "and b.status = 'APPROVED' " +
+            "and b.start = (select min(b2.start) from Booking b2 " +
+            "where b2.item.id = b.item.id " +
+            "and b2.start > ?2 " +
+            "and b2.status = 'APPROVED')")
+    List<Booking> findNextBookingsForItems(List<Long> itemIds, LocalDateTime now);
+
     @Query("select count(b) > 0 from Booking b " +
             "where b.item.id = ?1 " +
             "and b.booker.id = ?2 " +
             "and b.end < ?3 " +
             "and b.status = 'APPROVED'")
     boolean hasUserBookedItem(Long itemId, Long userId, LocalDateTime now);
-}
\ No newline at end of file
+
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.status = 'APPROVED' " +
+            "and b.start < ?3 " +
+            "and b.end > ?2")
+    boolean existsApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    // keeps each item's latest started approved booking, which item cards show as the last one
+    @Query("select b.id from Booking b " +
+            "where b.end < ?1 " +
+            "and (b.status <> 'APPROVED' or exists (select n.id from Booking n " +
+            "where n.item.id = b.item.id " +
+            "and n.status = 'APPROVED' " +
+            "and n.start < ?2 " +
+            "and n.end > b.end)) " +
+            "order by b.end")
+    List<Long> findArchivableIds(LocalDateTime cutoff, LocalDateTime now, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner"})
+    Slice<Booking> findByStatusIn(Collection<BookingStatus> statuses, Pageable pageable);
+}
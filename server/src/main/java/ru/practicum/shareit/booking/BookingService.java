@@ -1,9 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
-import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
 
@@ -13,7 +14,9 @@ public interface BookingService {
 
     BookingResponseDto getById(long userId, long bookingId);
 
-    List<BookingResponseDto> getAllByBooker(long userId, BookingState state);
+    Optional<String> findEtag(long userId, long bookingId);
 
-    List<BookingResponseDto> getAllByOwner(long userId, BookingState state);
+    BookingPageDto getAllByBooker(long userId, BookingState state, String cursor, int from, int size);
+
+    BookingPageDto getAllByOwner(long userId, BookingState state, String cursor, int from, int size);
 }
\ No newline at end of file
@@ -2,12 +2,23 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.config.RetryConfig;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -15,10 +26,12 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -26,18 +39,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
 
     @Override
     @Transactional
     public BookingResponseDto create(long userId, BookingDto bookingDto) {
-        User booker = userRepository.findById(userId)
+        User booker = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findCachedById(bookingDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + bookingDto.getItemId() + " не найдена"));
 
         if (item.getOwner().getId() == userId) {
@@ -59,9 +74,14 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Дата окончания бронирования должна быть позже даты начала");
         }
 
+        if (bookingRepository.existsApprovedOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ConflictException("Вещь уже забронирована на указанные даты");
+        }
+
         Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
         log.info("Создано бронирование: {}", booking);
 
         return BookingMapper.toBookingResponseDto(booking);
@@ -69,6 +89,9 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttempts = RetryConfig.OPTIMISTIC_LOCK_ATTEMPTS,
+            backoff = @Backoff(delay = RetryConfig.OPTIMISTIC_LOCK_BACKOFF_MS, multiplier = 2, random = true))
     public BookingResponseDto approve(long userId, long bookingId, boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id " + bookingId + " не найдено"));
@@ -81,8 +104,20 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Бронирование уже подтверждено или отклонено");
         }
 
+        if (approved) {
+            Item item = booking.getItem();
+            if (bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Вещь уже забронирована на указанные даты");
+            }
+            if (itemRepository.incrementVersion(item.getId(), item.getVersion()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Item.class, item.getId());
+            }
+        }
+
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        booking = bookingRepository.save(booking);
+        // flushed so the event carries the incremented version the availability index orders updates by
+        booking = bookingRepository.saveAndFlush(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
         log.info("Обновлен статус бронирования: {}", booking);
 
         return BookingMapper.toBookingResponseDto(booking);
@@ -90,90 +125,62 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingResponseDto getById(long userId, long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Бронирование с id " + bookingId + " не найдено"));
-
-        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
-            throw new NotFoundException("Пользователь не имеет доступа к этому бронированию");
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking != null) {
+            checkAccess(userId, booking.getBooker(), booking.getItem());
+            return BookingMapper.toBookingResponseDto(booking);
         }
 
-        return BookingMapper.toBookingResponseDto(booking);
+        ArchivedBooking archived = archivedBookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с id " + bookingId + " не найдено"));
+        checkAccess(userId, archived.getBooker(), archived.getItem());
+        return BookingMapper.toBookingResponseDtoFromArchive(archived);
     }
 
     @Override
-    public List<BookingResponseDto> getAllByBooker(long userId, BookingState state) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
-
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerId(userId, SORT_BY_START_DESC);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findCurrentBookingsByBookerId(userId, now, SORT_BY_START_DESC);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndIsBefore(userId, now, SORT_BY_START_DESC);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartIsAfter(userId, now, SORT_BY_START_DESC);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, SORT_BY_START_DESC);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, SORT_BY_START_DESC);
-                break;
-            default:
-                throw new ValidationException("Неизвестный статус: " + state);
-        }
+    public Optional<String> findEtag(long userId, long bookingId) {
+        return bookingRepository.findEtag(bookingId, userId);
+    }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    @Override
+    public BookingPageDto getAllByBooker(long userId, BookingState state, String cursor, int from, int size) {
+        return getPage(BookingRole.BOOKER, userId, state, cursor, from, size);
     }
 
     @Override
-    public List<BookingResponseDto> getAllByOwner(long userId, BookingState state) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+    public BookingPageDto getAllByOwner(long userId, BookingState state, String cursor, int from, int size) {
+        return getPage(BookingRole.OWNER, userId, state, cursor, from, size);
+    }
 
-        List<Item> userItems = itemRepository.findByOwnerId(userId);
-        if (userItems.isEmpty()) {
-            return List.of();
+    private static void checkAccess(long userId, User booker, Item item) {
+        if (booker.getId() != userId && item.getOwner().getId() != userId) {
+            throw new NotFoundException("Пользователь не имеет доступа к этому бронированию");
         }
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByOwnerId(userId, SORT_BY_START_DESC);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findCurrentBookingsByOwnerId(userId, now, SORT_BY_START_DESC);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastBookingsByOwnerId(userId, now, SORT_BY_START_DESC);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureBookingsByOwnerId(userId, now, SORT_BY_START_DESC);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.WAITING, SORT_BY_START_DESC);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId, BookingStatus.REJECTED, SORT_BY_START_DESC);
-                break;
-            default:
-                throw new ValidationException("Неизвестный статус: " + state);
+    private BookingPageDto getPage(BookingRole role, long userId, BookingState state, String cursor,
+                                   int from, int size) {
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
         }
+        Pageable page = OffsetPageRequest.of(from, size + 1, SORT_BY_START_DESC);
+        userRepository.findCachedById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        // an offset on top of a cursor would silently skip rows after it
+        if (after != null && from != 0) {
+            throw new ValidationException("Параметры cursor и from нельзя использовать вместе");
+        }
+        List<BookingResponseDto> bookings =
+                bookingRepository.findPage(role, userId, state, LocalDateTime.now(), after, page);
+
+        String nextCursor = null;
+        if (bookings.size() > size) {
+            bookings = bookings.subList(0, size);
+            BookingResponseDto last = bookings.get(size - 1);
+            nextCursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+        }
+        return new BookingPageDto(bookings, nextCursor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.archive;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedBooking {
+    @Id
+    Long id;
+
+    @Column(name = "start_date", nullable = false)
+    LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    LocalDateTime end;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "item_id", nullable = false)
+    Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "booker_id", nullable = false)
+    User booker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    BookingStatus status;
+}
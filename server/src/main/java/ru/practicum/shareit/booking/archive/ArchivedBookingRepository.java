@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<ArchivedBooking> findById(Long id);
+
+    @Query("select count(b) > 0 from ArchivedBooking b " +
+            "where b.item.id = ?1 " +
+            "and b.booker.id = ?2 " +
+            "and b.end < ?3 " +
+            "and b.status = 'APPROVED'")
+    boolean hasUserBookedItem(Long itemId, Long userId, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, status, created_at, updated_at) " +
+            "SELECT id, start_date, end_date, item_id, booker_id, status, created_at, updated_at " +
+            "FROM bookings WHERE id IN (?1)", nativeQuery = true)
+    int copyFromBookings(List<Long> bookingIds);
+}
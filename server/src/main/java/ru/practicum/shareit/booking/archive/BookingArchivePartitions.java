@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class BookingArchivePartitions {
+    private static final String PARTITIONED_DATABASE = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+    // only the PostgreSQL schema splits the archive by year, H2 keeps it as one table
+    private final boolean partitioned;
+
+    public BookingArchivePartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioned = PARTITIONED_DATABASE.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    public void createThrough(int lastYear) {
+        if (!partitioned) {
+            return;
+        }
+        for (int year = lastYear - 1; year <= lastYear; year++) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_bookings_archive_partition(?)",
+                    Boolean.class, year))) {
+                log.info("Создана партиция архива бронирований за {} год", year);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchiver {
+    public static final Duration ARCHIVE_AFTER = Duration.ofDays(90);
+    static final int BATCH_SIZE = 1000;
+    static final long RUN_INTERVAL_MS = 10 * 60 * 1000;
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingArchivePartitions archivePartitions;
+
+    @Scheduled(initialDelay = RUN_INTERVAL_MS, fixedDelay = RUN_INTERVAL_MS)
+    @Transactional
+    public void archive() {
+        archive(LocalDateTime.now());
+    }
+
+    @Transactional
+    public int archive(LocalDateTime now) {
+        // next year's partition exists before any row needs it, so nothing lands in the default one
+        archivePartitions.createThrough(now.getYear() + 1);
+        List<Long> bookingIds = bookingRepository.findArchivableIds(now.minus(ARCHIVE_AFTER), now,
+                PageRequest.of(0, BATCH_SIZE));
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        archivedBookingRepository.copyFromBookings(bookingIds);
+        bookingRepository.deleteAllByIdInBatch(bookingIds);
+        log.info("В архив перенесено бронирований: {}", bookingIds.size());
+        return bookingIds.size();
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
@@ -28,6 +29,20 @@ public class BookingMapper {
         );
     }
 
+    public static BookingResponseDto toBookingResponseDtoFromArchive(ArchivedBooking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return new BookingResponseDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                ItemMapper.toItemDto(booking.getItem()),
+                UserMapper.toUserDto(booking.getBooker()),
+                booking.getStatus()
+        );
+    }
+
     public static Booking toBooking(BookingDto bookingDto, Item item, User booker) {
         if (bookingDto == null) {
             return null;
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    // evictions wait for commit, otherwise a concurrent read re-caches the row the transaction is replacing
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        if (StringUtils.hasText(properties.getCaffeine().getSpec())) {
+            caffeine.setCacheSpecification(properties.getCaffeine().getSpec());
+        }
+        caffeine.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
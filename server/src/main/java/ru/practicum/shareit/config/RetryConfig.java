@@ -0,0 +1,11 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+@Configuration
+@EnableRetry
+public class RetryConfig {
+    public static final int OPTIMISTIC_LOCK_ATTEMPTS = 3;
+    public static final long OPTIMISTIC_LOCK_BACKOFF_MS = 10;
+}
@@ -1,13 +1,31 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItemId(Long itemId);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItemIdOrderByCreatedDescIdDesc(Long itemId, Pageable page);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c " +
+            "where c.item.id = ?1 and (c.created < ?2 or (c.created = ?2 and c.id < ?3)) " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByItemIdBefore(Long itemId, LocalDateTime created, Long id, Pageable page);
+
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.id in (select r.id from (" +
+            "select c2.id as id, row_number() over (partition by c2.item.id order by c2.created desc, c2.id desc) as rn " +
+            "from Comment c2 where c2.item.id in ?1) r " +
+            "where r.rn <= ?2) " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findRecentByItemIdIn(Collection<Long> itemIds, long limit);
+}
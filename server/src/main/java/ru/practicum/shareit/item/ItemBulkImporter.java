@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBulkImporter {
+    static final int BATCH_SIZE = 500;
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    public ItemBulkResultDto importItems(long userId, InputStream ndjson) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        Map<Long, ItemDto> batch = new LinkedHashMap<>();
+        List<ItemBulkErrorDto> errors = new ArrayList<>();
+        int created = 0;
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.put(lineNumber, objectMapper.readValue(line, ItemDto.class));
+            } catch (JsonProcessingException e) {
+                errors.add(new ItemBulkErrorDto(lineNumber, "Некорректный JSON: " + e.getOriginalMessage()));
+            }
+            if (batch.size() == BATCH_SIZE) {
+                created += flush(userId, batch, errors);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += flush(userId, batch, errors);
+        }
+        errors.sort(Comparator.comparing(ItemBulkErrorDto::getLine));
+
+        log.info("Импорт вещей пользователем с id {} завершён: строк {}, создано {}, ошибок {}",
+                userId, lineNumber, created, errors.size());
+        return new ItemBulkResultDto(created, errors);
+    }
+
+    private int flush(long userId, Map<Long, ItemDto> batch, List<ItemBulkErrorDto> errors) {
+        ItemBulkResultDto result = itemService.createAll(userId, batch);
+        errors.addAll(result.getErrors());
+        return result.getCreated();
+    }
+}
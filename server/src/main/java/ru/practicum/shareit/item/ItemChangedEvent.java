@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public record ItemChangedEvent(long itemId,
+                               long ownerId,
+                               Long requestId,
+                               Long requestorId,
+                               String name,
+                               String description,
+                               boolean available,
+                               long version,
+                               LocalDateTime changed) {
+
+    public static ItemChangedEvent of(Item item) {
+        Long requestId = item.getRequest() == null ? null : item.getRequest().getId();
+        Long requestorId = item.getRequest() == null ? null : item.getRequest().getRequestor().getId();
+        long version = item.getVersion() == null ? 0 : item.getVersion();
+        // database precision, so a cursor built from the event matches the stored row
+        return new ItemChangedEvent(item.getId(), item.getOwner().getId(), requestId, requestorId, item.getName(),
+                item.getDescription(), item.getAvailable(), version, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
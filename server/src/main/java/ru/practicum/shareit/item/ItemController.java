@@ -1,11 +1,25 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.util.Constants;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.Period;
 import java.util.List;
 
 @RestController
@@ -13,7 +27,11 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class ItemController {
+    private static final Period DEFAULT_AVAILABILITY_PERIOD = Period.ofDays(30);
+
     private final ItemService itemService;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto create(@RequestHeader(Constants.USER_ID_HEADER) long userId,
@@ -22,6 +40,13 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemBulkResultDto createBulk(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                        InputStream ndjson) throws IOException {
+        log.info("Получен запрос на массовое создание вещей пользователем с id {}", userId);
+        return itemBulkImporter.importItems(userId, ndjson);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(Constants.USER_ID_HEADER) long userId,
                           @PathVariable long itemId,
@@ -32,8 +57,12 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemWithBookingDto getById(@PathVariable long itemId,
-                                      @RequestHeader(Constants.USER_ID_HEADER) long userId) {
+                                      @RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                      WebRequest request) {
         log.info("Получен запрос на получение вещи с id {}", itemId);
+        if (itemService.findEtag(itemId, userId).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return itemService.getById(itemId, userId);
     }
 
@@ -44,9 +73,47 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
+    public ResponseEntity<List<ItemDto>> search(@RequestParam String text,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "0") int from,
+                                                @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос на поиск вещей по тексту: {}", text);
-        return itemService.search(text);
+        ItemSearchPageDto page = itemService.search(text, cursor, from, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(Constants.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchStream(@RequestParam String text,
+                                                              @RequestParam(required = false) String cursor,
+                                                              HttpServletRequest request) {
+        log.info("Получен запрос на потоковый поиск вещей по тексту: {}", text);
+        // otherwise the ETag filter buffers the whole stream before the first byte is sent
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        StreamingResponseBody body = out -> itemService.searchAll(text, cursor, items -> writeNdjson(out, items));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable long itemId,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получен запрос на получение занятости вещи с id {} с {} по {}", itemId, from, to);
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return itemService.getAvailability(itemId, start, to != null ? to : start.plus(DEFAULT_AVAILABILITY_PERIOD));
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public CommentPageDto getComments(@PathVariable long itemId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен запрос на получение комментариев к вещи с id {}", itemId);
+        return itemService.getComments(itemId, cursor, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -56,4 +123,16 @@ public class ItemController {
         log.info("Получен запрос на создание комментария к вещи с id {} от пользователя с id {}", itemId, userId);
         return itemService.createComment(userId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    private void writeNdjson(OutputStream out, List<ItemDto> items) {
+        try {
+            for (ItemDto item : items) {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
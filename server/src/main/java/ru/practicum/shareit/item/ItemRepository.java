@@ -1,22 +1,38 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long ownerId);
 
-    @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "and i.available = true")
-    List<Item> search(String text);
-
     List<Item> findByRequestId(Long requestId);
 
-    List<Item> findByRequestIdIn(List<Long> requestIds);
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Item i " +
+            "where i.request.id in ?1")
+    List<ItemDto> findByRequestIdIn(List<Long> requestIds);
+
+    // shared cached instance: only the ids of owner and request may be read, load through findById to change
+    @Cacheable(cacheNames = CacheConfig.ITEMS, unless = "#result == null")
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findCachedById(Long id);
+
+    // returns 0 if the version moved on, so concurrent approvals of the same item cannot both pass the overlap check
+    @Modifying
+    @Query("update Item i set i.version = i.version + 1 where i.id = ?1 and i.version = ?2")
+    int incrementVersion(Long id, Long expectedVersion);
+
+    @Modifying
+    @Query("update Item i set i.commentCount = i.commentCount + 1 where i.id = ?1")
+    void incrementCommentCount(Long id);
 }
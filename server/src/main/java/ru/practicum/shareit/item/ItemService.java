@@ -1,22 +1,40 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(long userId, ItemDto itemDto);
 
+    ItemBulkResultDto createAll(long userId, Map<Long, ItemDto> itemsByLine);
+
     ItemDto update(long userId, long itemId, ItemDto itemDto);
 
     ItemWithBookingDto getById(long itemId, long userId);
 
+    Optional<String> findEtag(long itemId, long userId);
+
     List<ItemWithBookingDto> getAllByUserId(long userId);
 
-    List<ItemDto> search(String text);
+    ItemSearchPageDto search(String text, String cursor, int from, int size);
+
+    void searchAll(String text, String cursor, Consumer<List<ItemDto>> consumer);
+
+    CommentPageDto getComments(long itemId, String cursor, int size);
 
     CommentDto createComment(long userId, long itemId, CommentRequestDto commentDto);
+
+    ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
@@ -2,26 +2,45 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.RetryConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,17 +48,24 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int COMMENT_PREVIEW_SIZE = 10;
+    private static final int SEARCH_CHUNK_SIZE = 500;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public ItemDto create(long userId, ItemDto itemDto) {
         validateNewItem(itemDto);
-        User owner = userRepository.findById(userId)
+        User owner = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
         Item item = ItemMapper.toItem(itemDto);
@@ -52,12 +78,56 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         log.info("Создана вещь: {}", item);
         return ItemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional
+    public ItemBulkResultDto createAll(long userId, Map<Long, ItemDto> itemsByLine) {
+        User owner = userRepository.findCachedById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+
+        Set<Long> requestIds = itemsByLine.values().stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() :
+                itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>(itemsByLine.size());
+        List<ItemBulkErrorDto> errors = new ArrayList<>();
+        itemsByLine.forEach((line, itemDto) -> {
+            try {
+                validateNewItem(itemDto);
+                if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+                    throw new NotFoundException("Запрос с id " + itemDto.getRequestId() + " не найден");
+                }
+            } catch (ValidationException | NotFoundException e) {
+                errors.add(new ItemBulkErrorDto(line, e.getMessage()));
+                return;
+            }
+            Item item = ItemMapper.toItem(itemDto);
+            item.setId(null);
+            item.setOwner(owner);
+            item.setRequest(itemDto.getRequestId() != null ? requests.get(itemDto.getRequestId()) : null);
+            items.add(item);
+        });
+
+        List<Item> saved = itemRepository.saveAll(items);
+        saved.forEach(item -> eventPublisher.publishEvent(ItemChangedEvent.of(item)));
+        log.info("Импортировано вещей пользователем с id {}: {}, отклонено строк: {}", userId, saved.size(), errors.size());
+        return new ItemBulkResultDto(saved.size(), errors);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttempts = RetryConfig.OPTIMISTIC_LOCK_ATTEMPTS,
+            backoff = @Backoff(delay = RetryConfig.OPTIMISTIC_LOCK_BACKOFF_MS, multiplier = 2, random = true))
     public ItemDto update(long userId, long itemId, ItemDto itemDto) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
@@ -75,14 +145,16 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        item = itemRepository.save(item);
+        // flushed so the event carries the incremented version the search index orders updates by
+        item = itemRepository.saveAndFlush(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         log.info("Обновлена вещь: {}", item);
         return ItemMapper.toItemDto(item);
     }
 
     @Override
     public ItemWithBookingDto getById(long itemId, long userId) {
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findCachedById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
 
         BookingShortDto lastBooking = null;
@@ -102,68 +174,149 @@ public class ItemServiceImpl implements ItemService {
             }
         }
 
-        List<CommentDto> comments = commentRepository.findByItemId(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        List<CommentDto> comments = item.getCommentCount() == 0 ? List.of() :
+                commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId, PageRequest.of(0, COMMENT_PREVIEW_SIZE))
+                        .stream()
+                        .map(CommentMapper::toCommentDto)
+                        .collect(Collectors.toList());
 
         return ItemMapper.toItemWithBookingDto(item, lastBooking, nextBooking, comments);
     }
 
+    // the owner also sees last and next bookings, which move with the clock rather than with the version
+    @Override
+    public Optional<String> findEtag(long itemId, long userId) {
+        return itemRepository.findCachedById(itemId)
+                .filter(item -> item.getOwner().getId() != userId)
+                .map(item -> item.getVersion() + "-" + item.getCommentCount());
+    }
+
     @Override
     public List<ItemWithBookingDto> getAllByUserId(long userId) {
-        userRepository.findById(userId)
+        userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
         List<Item> items = itemRepository.findByOwnerId(userId);
+        if (items.isEmpty()) {
+            return List.of();
+        }
 
         List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
 
-        Map<Long, List<CommentDto>> commentsMap = commentRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
-                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        List<Long> commentedItemIds = items.stream()
+                .filter(item -> item.getCommentCount() > 0)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> commentsMap = commentedItemIds.isEmpty() ? Map.of() :
+                commentRepository.findRecentByItemIdIn(commentedItemIds, COMMENT_PREVIEW_SIZE).stream()
+                        .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                                Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
 
         LocalDateTime now = LocalDateTime.now();
 
-        return items.stream()
-                .map(item -> {
-                    List<Booking> lastBookings = bookingRepository.findLastBookingForItem(item.getId(), now);
-                    BookingShortDto lastBooking = lastBookings.isEmpty() ? null :
-                            BookingMapper.toBookingShortDto(lastBookings.get(0));
+        Map<Long, BookingShortDto> lastBookings = toBookingByItemId(
+                bookingRepository.findLastBookingsForItems(itemIds, now));
+        Map<Long, BookingShortDto> nextBookings = toBookingByItemId(
+                bookingRepository.findNextBookingsForItems(itemIds, now));
 
-                    List<Booking> nextBookings = bookingRepository.findNextBookingForItem(item.getId(), now);
-                    BookingShortDto nextBooking = nextBookings.isEmpty() ? null :
-                            BookingMapper.toBookingShortDto(nextBookings.get(0));
+        return items.stream()
+                .map(item -> ItemMapper.toItemWithBookingDto(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        commentsMap.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 
-                    List<CommentDto> comments = commentsMap.getOrDefault(item.getId(), Collections.emptyList());
+    @Override
+    public ItemSearchPageDto search(String text, String cursor, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size, Sort.unsorted());
+        if (text == null || text.isBlank()) {
+            return new ItemSearchPageDto(Collections.emptyList(), null);
+        }
 
-                    return ItemMapper.toItemWithBookingDto(item, lastBooking, nextBooking, comments);
-                })
-                .collect(Collectors.toList());
+        ItemSearchCursor after = decodeSearchCursor(cursor);
+        // an offset on top of a cursor would silently skip matches after it
+        if (after != null && from != 0) {
+            throw new ValidationException("Параметры cursor и from нельзя использовать вместе");
+        }
+        List<ItemSearchIndex.Match> matches = itemSearchIndex.search(text, after, page);
+        String nextCursor = matches.size() == size ? matches.get(size - 1).toCursor().encode() : null;
+        return new ItemSearchPageDto(loadAvailable(matches), nextCursor);
     }
 
+    // no transaction, so no connection is held while a slow client reads the previous chunk
     @Override
-    public List<ItemDto> search(String text) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void searchAll(String text, String cursor, Consumer<List<ItemDto>> consumer) {
         if (text == null || text.isBlank()) {
+            return;
+        }
+
+        List<ItemSearchIndex.Match> matches = itemSearchIndex.rank(text, decodeSearchCursor(cursor));
+        for (int i = 0; i < matches.size(); i += SEARCH_CHUNK_SIZE) {
+            consumer.accept(loadAvailable(matches.subList(i, Math.min(i + SEARCH_CHUNK_SIZE, matches.size()))));
+        }
+    }
+
+    private static ItemSearchCursor decodeSearchCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : ItemSearchCursor.decode(cursor);
+    }
+
+    private List<ItemDto> loadAvailable(List<ItemSearchIndex.Match> matches) {
+        if (matches.isEmpty()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text).stream()
-                .filter(Item::getAvailable)
+        List<Long> ids = matches.stream().map(ItemSearchIndex.Match::id).toList();
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null && item.getAvailable())
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CommentPageDto getComments(long itemId, String cursor, int size) {
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        itemRepository.findCachedById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
+
+        Pageable page = PageRequest.of(0, size + 1);
+        List<Comment> comments;
+        if (cursor == null) {
+            comments = commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findByItemIdBefore(itemId, after.time(), after.id(), page);
+        }
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment oldest = comments.get(size - 1);
+            nextCursor = new KeysetCursor(oldest.getCreated(), oldest.getId()).encode();
+        }
+        return new CommentPageDto(comments.stream().map(CommentMapper::toCommentDto).toList(), nextCursor);
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public CommentDto createComment(long userId, long itemId, CommentRequestDto commentDto) {
-        User author = userRepository.findById(userId)
+        User author = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findCachedById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
 
         LocalDateTime now = LocalDateTime.now();
 
-        boolean hasBookedItem = bookingRepository.hasUserBookedItem(itemId, userId, now);
+        boolean hasBookedItem = bookingRepository.hasUserBookedItem(itemId, userId, now)
+                || archivedBookingRepository.hasUserBookedItem(itemId, userId, now);
         if (!hasBookedItem) {
             throw new ValidationException("Пользователь не брал эту вещь в аренду или аренда ещё не завершена");
         }
@@ -174,11 +327,31 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = CommentMapper.toComment(commentDto, item, author, now);
         comment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
         log.info("Создан комментарий: {}", comment);
 
         return CommentMapper.toCommentDto(comment);
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        itemRepository.findCachedById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
+
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода должен быть позже его начала");
+        }
+
+        return itemAvailabilityIndex.find(itemId, from, to);
+    }
+
+    private Map<Long, BookingShortDto> toBookingByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        BookingMapper::toBookingShortDto,
+                        (first, second) -> first.getId() <= second.getId() ? first : second));
+    }
+
     private void validateNewItem(ItemDto itemDto) {
         if (itemDto.getName() == null || itemDto.getName().isBlank()) {
             throw new ValidationException("Название вещи не может быть пустым");
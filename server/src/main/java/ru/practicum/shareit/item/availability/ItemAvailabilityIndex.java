@@ -0,0 +1,178 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAvailabilityIndex implements SmartInitializingSingleton {
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    private static final List<BookingStatus> INDEXED_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    // runs before the web server starts, so no request sees an item as free before its bookings are loaded
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Slice<Booking> slice = bookingRepository.findByStatusIn(INDEXED_STATUSES,
+                PageRequest.of(0, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+        slice.forEach(booking -> onBookingChanged(BookingChangedEvent.of(booking)));
+        while (slice.hasNext()) {
+            slice = bookingRepository.findByStatusIn(INDEXED_STATUSES, slice.nextPageable());
+            slice.forEach(booking -> onBookingChanged(BookingChangedEvent.of(booking)));
+        }
+        log.info("Индекс занятости вещей построен, вещей с бронированиями: {}", timelines.size());
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Slot slot = new Slot(event.bookingId(), event.start(), event.end(), event.version());
+        LocalDateTime now = LocalDateTime.now();
+        timelines.compute(event.itemId(), (itemId, timeline) -> {
+            Timeline updated = timeline == null ? new Timeline() : timeline;
+            updated.put(slot, event.status(), now);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    public ItemAvailabilityDto find(long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        Timeline timeline = timelines.computeIfPresent(itemId, (id, current) -> {
+            current.evictFinished(now);
+            return current.isEmpty() ? null : current;
+        });
+        List<Slot> busy = timeline == null ? List.of() : timeline.approved(from, to);
+        List<Slot> pending = timeline == null ? List.of() : timeline.pending(from, to);
+
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (Slot slot : busy) {
+            if (slot.start().isAfter(cursor)) {
+                free.add(new IntervalDto(cursor, slot.start()));
+            }
+            if (slot.end().isAfter(cursor)) {
+                cursor = slot.end();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new IntervalDto(cursor, to));
+        }
+
+        return new ItemAvailabilityDto(itemId, from, to, free, toIntervals(busy), toIntervals(pending));
+    }
+
+    private static List<IntervalDto> toIntervals(List<Slot> slots) {
+        return slots.stream()
+                .map(slot -> new IntervalDto(slot.start(), slot.end()))
+                .toList();
+    }
+
+    private record Slot(long bookingId, LocalDateTime start, LocalDateTime end, long version) {
+        static final Comparator<Slot> BY_START = Comparator.comparing(Slot::start).thenComparingLong(Slot::bookingId);
+
+        Duration length() {
+            return Duration.between(start, end);
+        }
+    }
+
+    private static final class Timeline {
+        private final NavigableSet<Slot> approved = new TreeSet<>(Slot.BY_START);
+        private final NavigableSet<Slot> pending = new TreeSet<>(Slot.BY_START);
+        // rejected and cancelled bookings, remembered until they end so an older WAITING row cannot revive them
+        private final NavigableSet<Slot> closed = new TreeSet<>(Slot.BY_START);
+        private final Map<Long, Slot> byBookingId = new HashMap<>();
+        private final NavigableMap<Duration, Integer> lengths = new TreeMap<>();
+
+        synchronized void put(Slot slot, BookingStatus status, LocalDateTime now) {
+            evictFinished(now);
+            Slot previous = byBookingId.get(slot.bookingId());
+            if (previous != null) {
+                // a rebuild page read before a status change committed must not undo it
+                if (previous.version() > slot.version()) {
+                    return;
+                }
+                approved.remove(previous);
+                pending.remove(previous);
+                closed.remove(previous);
+                forget(previous);
+            }
+            if (!slot.end().isAfter(now)) {
+                return;
+            }
+            switch (status) {
+                case APPROVED -> approved.add(slot);
+                case WAITING -> pending.add(slot);
+                default -> closed.add(slot);
+            }
+            byBookingId.put(slot.bookingId(), slot);
+            lengths.merge(slot.length(), 1, Integer::sum);
+        }
+
+        synchronized void evictFinished(LocalDateTime now) {
+            evictFinished(approved, now);
+            evictFinished(pending, now);
+            evictFinished(closed, now);
+        }
+
+        synchronized boolean isEmpty() {
+            return byBookingId.isEmpty();
+        }
+
+        synchronized List<Slot> approved(LocalDateTime from, LocalDateTime to) {
+            return overlapping(approved, from, to);
+        }
+
+        synchronized List<Slot> pending(LocalDateTime from, LocalDateTime to) {
+            return overlapping(pending, from, to);
+        }
+
+        private void evictFinished(NavigableSet<Slot> slots, LocalDateTime now) {
+            Iterator<Slot> started = slots.headSet(new Slot(Long.MIN_VALUE, now, now, 0), false).iterator();
+            while (started.hasNext()) {
+                Slot slot = started.next();
+                if (!slot.end().isAfter(now)) {
+                    started.remove();
+                    forget(slot);
+                }
+            }
+        }
+
+        private void forget(Slot slot) {
+            byBookingId.remove(slot.bookingId());
+            lengths.computeIfPresent(slot.length(), (length, count) -> count == 1 ? null : count - 1);
+        }
+
+        private List<Slot> overlapping(NavigableSet<Slot> slots, LocalDateTime from, LocalDateTime to) {
+            Duration longest = lengths.isEmpty() ? Duration.ZERO : lengths.lastKey();
+            Slot lower = new Slot(Long.MIN_VALUE, from.minus(longest), from, 0);
+            Slot upper = new Slot(Long.MIN_VALUE, to, to, 0);
+            return slots.subSet(lower, true, upper, false).stream()
+                    .filter(slot -> slot.end().isAfter(from))
+                    .toList();
+        }
+    }
+}
@@ -19,4 +19,6 @@ public class ItemWithBookingDto {
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
     private List<CommentDto> comments;
+    private Integer commentCount;
+    private String commentsCursor;
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.util.List;
 
@@ -43,7 +44,17 @@ public class ItemMapper {
                 item.getRequest() != null ? item.getRequest().getId() : null,
                 lastBooking,
                 nextBooking,
-                comments
+                comments,
+                item.getCommentCount(),
+                nextCommentsCursor(item, comments)
         );
     }
-}
\ No newline at end of file
+
+    private static String nextCommentsCursor(Item item, List<CommentDto> comments) {
+        if (comments.isEmpty() || item.getCommentCount() <= comments.size()) {
+            return null;
+        }
+        CommentDto oldest = comments.get(comments.size() - 1);
+        return new KeysetCursor(oldest.getCreated(), oldest.getId()).encode();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ItemSearchCursor(int score, long id) {
+    private static final String SEPARATOR = "_";
+
+    public String encode() {
+        String raw = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ItemSearchCursor(Integer.parseInt(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    boolean isBefore(ItemSearchIndex.Match match) {
+        return match.score() < score || match.score() == score && match.id() > id;
+    }
+}
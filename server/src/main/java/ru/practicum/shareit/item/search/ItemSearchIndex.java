@@ -0,0 +1,212 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    private static final int GRAM_SIZE = 3;
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private static final int NAME_TOKEN_SCORE = 4;
+    private static final int NAME_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+
+    private static final Comparator<Match> RANKING =
+            Comparator.comparingInt(Match::score).reversed().thenComparingLong(Match::id);
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // runs before the web server starts, so no search sees a half-built index
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Page<Item> page = itemRepository.findAll(PageRequest.of(0, BOOTSTRAP_BATCH_SIZE, Sort.by("id")));
+        page.forEach(this::index);
+        while (page.hasNext()) {
+            page = itemRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано вещей: {}", size());
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        index(new Entry(event.itemId(), normalize(event.name()), normalize(event.description()), event.available(),
+                event.version()));
+    }
+
+    public void index(Item item) {
+        index(new Entry(item.getId(), normalize(item.getName()), normalize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()), item.getVersion() == null ? 0 : item.getVersion()));
+    }
+
+    private void index(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(entry.id);
+            // a rebuild page read before a concurrent update committed must not overwrite it
+            if (previous != null && previous.version > entry.version) {
+                return;
+            }
+            entries.put(entry.id, entry);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    Set<Long> ids = postings.get(gram);
+                    ids.remove(previous.id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (String gram : entry.grams()) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> search(String text, ItemSearchCursor after, Pageable page) {
+        long keep = page.getOffset() + page.getPageSize();
+        PriorityQueue<Match> best = new PriorityQueue<>(RANKING.reversed());
+        forEachMatch(text, after, match -> {
+            if (best.size() < keep) {
+                best.add(match);
+            } else if (RANKING.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        });
+
+        return best.stream()
+                .sorted(RANKING)
+                .skip(page.getOffset())
+                .toList();
+    }
+
+    public List<Match> rank(String text, ItemSearchCursor after) {
+        List<Match> matches = new ArrayList<>();
+        forEachMatch(text, after, matches::add);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    private void forEachMatch(String text, ItemSearchCursor after, Consumer<Match> consumer) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                Entry entry = entries.get(id);
+                int score = entry.available ? entry.score(query) : 0;
+                if (score > 0) {
+                    Match match = new Match(entry.id, score);
+                    if (after == null || after.isBefore(match)) {
+                        consumer.accept(match);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return entries.keySet();
+        }
+        Set<String> grams = grams(query);
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private record Entry(long id, String name, String description, boolean available, long version) {
+
+        Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+
+        int score(String query) {
+            if (name.contains(query)) {
+                for (String token : name.split("[^\\p{L}\\p{N}]+")) {
+                    if (token.equals(query)) {
+                        return NAME_TOKEN_SCORE;
+                    }
+                }
+                return NAME_SCORE;
+            }
+            return description.contains(query) ? DESCRIPTION_SCORE : 0;
+        }
+    }
+
+    public record Match(long id, int score) {
+
+        public ItemSearchCursor toCursor() {
+            return new ItemSearchCursor(score, id);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    public static final String METRIC = "shareit.service";
+
+    private static final List<Class<?>> SERVICES =
+            List.of(ItemService.class, BookingService.class, UserService.class, ItemRequestService.class);
+
+    private final MeterRegistry registry;
+
+    @Around("execution(* ru.practicum.shareit.item.ItemService.*(..))"
+            + " || execution(* ru.practicum.shareit.booking.BookingService.*(..))"
+            + " || execution(* ru.practicum.shareit.user.UserService.*(..))"
+            + " || execution(* ru.practicum.shareit.request.ItemRequestService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("service", serviceName(joinPoint.getTarget()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private static String serviceName(Object target) {
+        return SERVICES.stream()
+                .filter(service -> service.isInstance(target))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(() -> target.getClass().getSimpleName());
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof ValidationException) {
+            return "validation";
+        }
+        if (e instanceof ForbiddenException) {
+            return "forbidden";
+        }
+        if (e instanceof ConflictException || e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
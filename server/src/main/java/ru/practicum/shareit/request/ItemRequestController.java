@@ -1,9 +1,16 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
 import ru.practicum.shareit.util.Constants;
 
 import java.util.List;
@@ -23,15 +30,38 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getAllByRequestor(@RequestHeader(Constants.USER_ID_HEADER) long userId) {
+    public ResponseEntity<List<ItemRequestDto>> getAllByRequestor(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос на получение всех запросов пользователя с id {}", userId);
-        return itemRequestService.getAllByRequestor(userId);
+        ItemRequestPageDto page = itemRequestService.getAllByRequestor(userId, cursor, size);
+        return toResponse(page.getRequests(), page.getNextCursor());
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAll(@RequestHeader(Constants.USER_ID_HEADER) long userId) {
+    public ResponseEntity<List<ItemRequestDto>> getAll(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "10") int size) {
         log.info("Получен запрос на получение всех запросов от пользователя с id {}", userId);
-        return itemRequestService.getAll(userId);
+        ItemRequestPageDto page = itemRequestService.getAll(userId, cursor, size);
+        return toResponse(page.getRequests(), page.getNextCursor());
+    }
+
+    @GetMapping("/inbox")
+    public ResponseEntity<List<RequestInboxEntryDto>> getInbox(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен запрос на получение ответов на запросы пользователя с id {}", userId);
+        RequestInboxPageDto page = itemRequestService.getInbox(userId, cursor, size);
+        return toResponse(page.getEntries(), page.getNextCursor());
+    }
+
+    @GetMapping("/updates")
+    public SseEmitter subscribeToUpdates(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                         HttpServletRequest request) {
+        // otherwise the ETag filter buffers the whole stream before the first byte is sent
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return itemRequestService.subscribeToUpdates(userId);
     }
 
     @GetMapping("/{requestId}")
@@ -40,4 +70,12 @@ public class ItemRequestController {
         log.info("Получен запрос на получение запроса с id {} от пользователя с id {}", requestId, userId);
         return itemRequestService.getById(requestId, userId);
     }
-}
\ No newline at end of file
+
+    private static <T> ResponseEntity<List<T>> toResponse(List<T> body, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(Constants.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body);
+    }
+}
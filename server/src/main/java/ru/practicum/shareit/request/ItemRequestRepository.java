@@ -1,12 +1,35 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestorId(Long requestorId, Sort sort);
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created) " +
+            "from ItemRequest r " +
+            "where r.requestor.id = ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestDto> findByRequestorId(Long requestorId, Pageable page);
 
-    List<ItemRequest> findByRequestorIdNot(Long requestorId, Sort sort);
-}
\ No newline at end of file
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created) " +
+            "from ItemRequest r " +
+            "where r.requestor.id = ?1 and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestDto> findByRequestorIdBefore(Long requestorId, LocalDateTime created, Long id, Pageable page);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created) " +
+            "from ItemRequest r " +
+            "where r.requestor.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestDto> findByRequestorIdNot(Long requestorId, Pageable page);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.requestor.id, r.created) " +
+            "from ItemRequest r " +
+            "where r.requestor.id <> ?1 and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequestDto> findByRequestorIdNotBefore(Long requestorId, LocalDateTime created, Long id, Pageable page);
+}
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-
-import java.util.List;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
 
 public interface ItemRequestService {
     ItemRequestDto create(long userId, ItemRequestDto itemRequestDto);
 
-    List<ItemRequestDto> getAllByRequestor(long userId);
+    ItemRequestPageDto getAllByRequestor(long userId, String cursor, int size);
 
-    List<ItemRequestDto> getAll(long userId);
+    ItemRequestPageDto getAll(long userId, String cursor, int size);
 
     ItemRequestDto getById(long requestId, long userId);
+
+    RequestInboxPageDto getInbox(long userId, String cursor, int size);
+
+    SseEmitter subscribeToUpdates(long userId);
 }
\ No newline at end of file
@@ -2,18 +2,27 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
+import ru.practicum.shareit.request.inbox.RequestInboxRepository;
+import ru.practicum.shareit.request.inbox.RequestUpdatesBroadcaster;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -29,13 +38,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-
-    private static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
+    private final RequestInboxRepository requestInboxRepository;
+    private final RequestUpdatesBroadcaster requestUpdatesBroadcaster;
 
     @Override
     @Transactional
     public ItemRequestDto create(long userId, ItemRequestDto itemRequestDto) {
-        User requestor = userRepository.findById(userId)
+        User requestor = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
         if (itemRequestDto.getDescription() == null || itemRequestDto.getDescription().isBlank()) {
@@ -54,26 +63,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAllByRequestor(long userId) {
-        userRepository.findById(userId)
+    public ItemRequestPageDto getAllByRequestor(long userId, String cursor, int size) {
+        Pageable page = pageOf(size);
+        userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorId(userId, SORT_BY_CREATED_DESC);
-        return getItemRequestDtos(requests);
+        if (cursor == null) {
+            return toPage(itemRequestRepository.findByRequestorId(userId, page), size);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(itemRequestRepository.findByRequestorIdBefore(userId, after.time(), after.id(), page), size);
     }
 
     @Override
-    public List<ItemRequestDto> getAll(long userId) {
-        userRepository.findById(userId)
+    public ItemRequestPageDto getAll(long userId, String cursor, int size) {
+        Pageable page = pageOf(size);
+        userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNot(userId, SORT_BY_CREATED_DESC);
-        return getItemRequestDtos(requests);
+        if (cursor == null) {
+            return toPage(itemRequestRepository.findByRequestorIdNot(userId, page), size);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(itemRequestRepository.findByRequestorIdNotBefore(userId, after.time(), after.id(), page), size);
     }
 
     @Override
     public ItemRequestDto getById(long requestId, long userId) {
-        userRepository.findById(userId)
+        userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
@@ -86,21 +103,68 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList()));
     }
 
-    private List<ItemRequestDto> getItemRequestDtos(List<ItemRequest> requests) {
-        Map<Long, List<Item>> itemsByRequestId = itemRepository.findByRequestIdIn(
+    @Override
+    public RequestInboxPageDto getInbox(long userId, String cursor, int size) {
+        Pageable page = pageOf(size);
+        userRepository.findCachedById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+
+        List<RequestInboxEntryDto> entries;
+        if (cursor == null) {
+            entries = requestInboxRepository.findByRequestorId(userId, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            entries = requestInboxRepository.findByRequestorIdBefore(userId, after.time(), after.id(), page);
+        }
+
+        String nextCursor = null;
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            RequestInboxEntryDto oldest = entries.get(size - 1);
+            nextCursor = new KeysetCursor(oldest.getUpdated(), oldest.getItemId()).encode();
+        }
+        return new RequestInboxPageDto(entries, nextCursor);
+    }
+
+    @Override
+    public SseEmitter subscribeToUpdates(long userId) {
+        userRepository.findCachedById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+
+        log.info("Пользователь с id {} подписался на обновления запросов", userId);
+        return requestUpdatesBroadcaster.subscribe(userId);
+    }
+
+    private static Pageable pageOf(int size) {
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private ItemRequestPageDto toPage(List<ItemRequestDto> requests, int size) {
+        String nextCursor = null;
+        if (requests.size() > size) {
+            requests = requests.subList(0, size);
+            ItemRequestDto oldest = requests.get(size - 1);
+            nextCursor = new KeysetCursor(oldest.getCreated(), oldest.getId()).encode();
+        }
+        return new ItemRequestPageDto(withItems(requests), nextCursor);
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findByRequestIdIn(
                         requests.stream()
-                                .map(ItemRequest::getId)
+                                .map(ItemRequestDto::getId)
                                 .collect(Collectors.toList()))
                 .stream()
-                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
-
-        return requests.stream()
-                .map(request -> {
-                    List<Item> items = itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList());
-                    return ItemRequestMapper.toItemRequestDto(request, items.stream()
-                            .map(ItemMapper::toItemDto)
-                            .collect(Collectors.toList()));
-                })
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        requests.forEach(request ->
+                request.setItems(itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList())));
+        return requests;
     }
-}
\ No newline at end of file
+}
@@ -17,4 +17,8 @@ public class ItemRequestDto {
     private Long requestorId;
     private LocalDateTime created;
     private List<ItemDto> items;
+
+    public ItemRequestDto(Long id, String description, Long requestorId, LocalDateTime created) {
+        this(id, description, requestorId, created, null);
+    }
 }
\ No newline at end of file
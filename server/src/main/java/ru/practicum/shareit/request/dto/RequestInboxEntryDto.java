@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestInboxEntryDto {
+    private Long requestId;
+    private Long itemId;
+    private String name;
+    private String description;
+    private Boolean available;
+    private Long ownerId;
+    private LocalDateTime updated;
+}
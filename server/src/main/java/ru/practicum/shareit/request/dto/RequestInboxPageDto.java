@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestInboxPageDto {
+    private List<RequestInboxEntryDto> entries;
+    private String nextCursor;
+}
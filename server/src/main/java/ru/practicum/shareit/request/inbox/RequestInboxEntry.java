@@ -0,0 +1,40 @@
+package ru.practicum.shareit.request.inbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "request_inbox")
+public class RequestInboxEntry {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(name = "requestor_id", nullable = false)
+    private Long requestorId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "item_name", nullable = false)
+    private String name;
+
+    @Column(name = "item_description", nullable = false)
+    private String description;
+
+    @Column(name = "is_available", nullable = false)
+    private boolean available;
+
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+}
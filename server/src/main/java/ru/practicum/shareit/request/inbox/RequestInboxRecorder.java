@@ -0,0 +1,21 @@
+package ru.practicum.shareit.request.inbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemChangedEvent;
+
+@Component
+@RequiredArgsConstructor
+public class RequestInboxRecorder {
+    private final RequestInboxRepository inboxRepository;
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.requestId() == null) {
+            return;
+        }
+        inboxRepository.upsert(event.itemId(), event.requestId(), event.requestorId(), event.ownerId(), event.name(),
+                event.description(), event.available(), event.changed());
+    }
+}
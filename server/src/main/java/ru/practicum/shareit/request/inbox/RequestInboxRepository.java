@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request.inbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RequestInboxRepository extends JpaRepository<RequestInboxEntry, Long> {
+
+    // flushes first, so a new item is inserted before its inbox entry
+    @Modifying(flushAutomatically = true)
+    @Query("insert into RequestInboxEntry (itemId, requestId, requestorId, ownerId, name, description, available, " +
+            "updated) " +
+            "values (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8) " +
+            "on conflict (itemId) do update set " +
+            "name = excluded.name, " +
+            "description = excluded.description, " +
+            "available = excluded.available, " +
+            "updated = excluded.updated")
+    void upsert(Long itemId, Long requestId, Long requestorId, Long ownerId, String name, String description,
+                boolean available, LocalDateTime updated);
+
+    @Query("select new ru.practicum.shareit.request.dto.RequestInboxEntryDto(e.requestId, e.itemId, e.name, " +
+            "e.description, e.available, e.ownerId, e.updated) " +
+            "from RequestInboxEntry e " +
+            "where e.requestorId = ?1 " +
+            "order by e.updated desc, e.itemId desc")
+    List<RequestInboxEntryDto> findByRequestorId(Long requestorId, Pageable page);
+
+    @Query("select new ru.practicum.shareit.request.dto.RequestInboxEntryDto(e.requestId, e.itemId, e.name, " +
+            "e.description, e.available, e.ownerId, e.updated) " +
+            "from RequestInboxEntry e " +
+            "where e.requestorId = ?1 and (e.updated < ?2 or (e.updated = ?2 and e.itemId < ?3)) " +
+            "order by e.updated desc, e.itemId desc")
+    List<RequestInboxEntryDto> findByRequestorIdBefore(Long requestorId, LocalDateTime updated, Long itemId,
+                                                       Pageable page);
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.request.inbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class RequestUpdatesBroadcaster {
+    // below the gateway's 30 second response timeout; the client reconnects and reads missed changes from the inbox
+    static final long SUBSCRIPTION_TIMEOUT_MS = 25_000;
+    static final String EVENT_NAME = "answer";
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(long requestorId) {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT_MS);
+        subscribers.computeIfAbsent(requestorId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(requestorId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(requestorId, emitter));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.requestorId() == null) {
+            return;
+        }
+        Set<SseEmitter> emitters = subscribers.get(event.requestorId());
+        if (emitters == null) {
+            return;
+        }
+
+        RequestInboxEntryDto entry = new RequestInboxEntryDto(event.requestId(), event.itemId(), event.name(),
+                event.description(), event.available(), event.ownerId(), event.changed());
+        String id = new KeysetCursor(entry.getUpdated(), entry.getItemId()).encode();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().id(id).name(EVENT_NAME).data(entry, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Подписка пользователя с id {} на обновления закрыта: {}", event.requestorId(), e.getMessage());
+                unsubscribe(event.requestorId(), emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(long requestorId, SseEmitter emitter) {
+        subscribers.computeIfPresent(requestorId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
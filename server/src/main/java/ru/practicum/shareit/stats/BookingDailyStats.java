@@ -0,0 +1,44 @@
+package ru.practicum.shareit.stats;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_daily_stats")
+@IdClass(BookingDailyStatsId.class)
+public class BookingDailyStats {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope")
+    private StatsScope scope;
+
+    @Id
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Id
+    @Column(name = "stats_date")
+    private LocalDate date;
+
+    @Column(name = "created_count", nullable = false)
+    private int created;
+
+    @Column(name = "approved_count", nullable = false)
+    private int approved;
+
+    @Column(name = "rejected_count", nullable = false)
+    private int rejected;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    @Column(name = "lead_time_minutes", nullable = false)
+    private long leadTimeMinutes;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDailyStatsId implements Serializable {
+    private StatsScope scope;
+    private Long subjectId;
+    private LocalDate date;
+}
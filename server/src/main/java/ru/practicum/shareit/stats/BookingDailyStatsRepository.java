@@ -0,0 +1,30 @@
+package ru.practicum.shareit.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+
+public interface BookingDailyStatsRepository extends JpaRepository<BookingDailyStats, BookingDailyStatsId> {
+
+    @Modifying
+    @Query("insert into BookingDailyStats (scope, subjectId, date, created, approved, rejected, bookedMinutes, " +
+            "leadTimeMinutes) " +
+            "values (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8) " +
+            "on conflict (scope, subjectId, date) do update set " +
+            "created = created + excluded.created, " +
+            "approved = approved + excluded.approved, " +
+            "rejected = rejected + excluded.rejected, " +
+            "bookedMinutes = bookedMinutes + excluded.bookedMinutes, " +
+            "leadTimeMinutes = leadTimeMinutes + excluded.leadTimeMinutes")
+    void add(StatsScope scope, Long subjectId, LocalDate date, int created, int approved, int rejected,
+             long bookedMinutes, long leadTimeMinutes);
+
+    @Query("select new ru.practicum.shareit.stats.BookingStatsTotals(" +
+            "coalesce(sum(s.created), 0), coalesce(sum(s.approved), 0), coalesce(sum(s.rejected), 0), " +
+            "coalesce(sum(s.bookedMinutes), 0), coalesce(sum(s.leadTimeMinutes), 0)) " +
+            "from BookingDailyStats s " +
+            "where s.scope = ?1 and s.subjectId = ?2 and s.date between ?3 and ?4")
+    BookingStatsTotals sum(StatsScope scope, Long subjectId, LocalDate from, LocalDate to);
+}
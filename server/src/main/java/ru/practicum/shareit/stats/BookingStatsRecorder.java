@@ -0,0 +1,55 @@
+package ru.practicum.shareit.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class BookingStatsRecorder {
+    private final BookingDailyStatsRepository statsRepository;
+
+    // after commit and in its own transaction, so the shared rollup rows are never locked for a booking's lifetime
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingChanged(BookingChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (event.status()) {
+            case WAITING -> add(event, now.toLocalDate(), 1, 0, 0, 0,
+                    Math.max(0, Duration.between(now, event.start()).toMinutes()));
+            case APPROVED -> {
+                add(event, now.toLocalDate(), 0, 1, 0, 0, 0);
+                addBookedMinutes(event);
+            }
+            case REJECTED -> add(event, now.toLocalDate(), 0, 0, 1, 0, 0);
+            default -> {
+            }
+        }
+    }
+
+    // booked time goes to the days the booking covers, not the day it was approved
+    private void addBookedMinutes(BookingChangedEvent event) {
+        LocalDateTime from = event.start();
+        while (from.isBefore(event.end())) {
+            LocalDateTime nextDay = from.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime to = nextDay.isBefore(event.end()) ? nextDay : event.end();
+            add(event, from.toLocalDate(), 0, 0, 0, Duration.between(from, to).toMinutes(), 0);
+            from = to;
+        }
+    }
+
+    private void add(BookingChangedEvent event, LocalDate date, int created, int approved, int rejected,
+                     long bookedMinutes, long leadTimeMinutes) {
+        statsRepository.add(StatsScope.ITEM, event.itemId(), date, created, approved, rejected,
+                bookedMinutes, leadTimeMinutes);
+        statsRepository.add(StatsScope.OWNER, event.ownerId(), date, created, approved, rejected,
+                bookedMinutes, leadTimeMinutes);
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.stats;
+
+public record BookingStatsTotals(long created, long approved, long rejected, long bookedMinutes,
+                                 long leadTimeMinutes) {
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.stats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+import ru.practicum.shareit.util.Constants;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsController {
+    private static final Period DEFAULT_PERIOD = Period.ofDays(29);
+
+    private final StatsService statsService;
+
+    @GetMapping
+    public BookingStatsDto getOwnerStats(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Получен запрос на получение статистики бронирований владельца с id {} с {} по {}", userId, from, to);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return statsService.getOwnerStats(userId, from != null ? from : end.minus(DEFAULT_PERIOD), end);
+    }
+
+    @GetMapping("/items/{itemId}")
+    public BookingStatsDto getItemStats(@RequestHeader(Constants.USER_ID_HEADER) long userId,
+                                        @PathVariable long itemId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Получен запрос на получение статистики бронирований вещи с id {} с {} по {}", itemId, from, to);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return statsService.getItemStats(userId, itemId, from != null ? from : end.minus(DEFAULT_PERIOD), end);
+    }
+}
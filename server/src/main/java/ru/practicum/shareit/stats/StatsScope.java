@@ -0,0 +1,6 @@
+package ru.practicum.shareit.stats;
+
+public enum StatsScope {
+    ITEM,
+    OWNER
+}
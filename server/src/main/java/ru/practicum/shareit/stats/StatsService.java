@@ -0,0 +1,11 @@
+package ru.practicum.shareit.stats;
+
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+
+import java.time.LocalDate;
+
+public interface StatsService {
+    BookingStatsDto getOwnerStats(long userId, LocalDate from, LocalDate to);
+
+    BookingStatsDto getItemStats(long userId, long itemId, LocalDate from, LocalDate to);
+}
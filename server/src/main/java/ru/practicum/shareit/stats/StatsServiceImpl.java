@@ -0,0 +1,69 @@
+package ru.practicum.shareit.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatsServiceImpl implements StatsService {
+    static final int MAX_PERIOD_DAYS = 366;
+    private static final double MINUTES_PER_HOUR = 60.0;
+
+    private final BookingDailyStatsRepository statsRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @Override
+    public BookingStatsDto getOwnerStats(long userId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        userRepository.findCachedById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+        return toDto(from, to, statsRepository.sum(StatsScope.OWNER, userId, from, to));
+    }
+
+    @Override
+    public BookingStatsDto getItemStats(long userId, long itemId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        Item item = itemRepository.findCachedById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
+        if (item.getOwner().getId() != userId) {
+            throw new ForbiddenException("Статистика вещи доступна только её владельцу");
+        }
+        return toDto(from, to, statsRepository.sum(StatsScope.ITEM, itemId, from, to));
+    }
+
+    private static void validatePeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Дата начала периода не может быть позже даты окончания");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new ValidationException("Период статистики не может превышать " + MAX_PERIOD_DAYS + " дней");
+        }
+    }
+
+    private static BookingStatsDto toDto(LocalDate from, LocalDate to, BookingStatsTotals totals) {
+        long decided = totals.approved() + totals.rejected();
+        return new BookingStatsDto(
+                from,
+                to,
+                totals.created(),
+                totals.approved(),
+                totals.rejected(),
+                decided > 0 ? (double) totals.approved() / decided : null,
+                totals.bookedMinutes() / MINUTES_PER_HOUR,
+                totals.created() > 0 ? totals.leadTimeMinutes() / MINUTES_PER_HOUR / totals.created() : null
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.stats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingStatsDto {
+    private LocalDate from;
+    private LocalDate to;
+    private Long bookings;
+    private Long approved;
+    private Long rejected;
+    private Double approvalRate;
+    private Double bookedHours;
+    private Double averageLeadTimeHours;
+}
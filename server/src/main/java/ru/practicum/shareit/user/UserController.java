@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -28,8 +29,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getById(@PathVariable long userId) {
+    public UserDto getById(@PathVariable long userId, WebRequest request) {
         log.info("Получен запрос на получение пользователя с id {}", userId);
+        if (userService.findEtag(userId).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return userService.getById(userId);
     }
 
@@ -1,6 +1,21 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) from User u")
+    List<UserDto> findAllUserDtos();
+
+    // shared cached instance: must not be modified, load through findById to change
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    @Query("select u from User u where u.id = ?1")
+    Optional<User> findCachedById(Long id);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.UserDto;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -10,6 +11,8 @@ public interface UserService {
 
     UserDto getById(long userId);
 
+    Optional<String> findEtag(long userId);
+
     List<UserDto> getAll();
 
     void delete(long userId);
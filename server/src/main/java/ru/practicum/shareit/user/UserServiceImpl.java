@@ -2,9 +2,11 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -12,7 +14,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +29,8 @@ public class UserServiceImpl implements UserService {
         validateNewUser(userDto);
         try {
             User user = UserMapper.toUser(userDto);
-            user = userRepository.save(user);
+            // sequence ids defer the insert to commit; flush so a duplicate email is caught here
+            user = userRepository.saveAndFlush(user);
             log.info("Создан пользователь: {}", user);
             return UserMapper.toUserDto(user);
         } catch (DataIntegrityViolationException e) {
@@ -37,6 +40,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto update(long userId, UserDto userDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
@@ -63,20 +67,24 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getById(long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    public Optional<String> findEtag(long userId) {
+        return userRepository.findCachedById(userId).map(user -> String.valueOf(user.getVersion()));
+    }
+
     @Override
     public List<UserDto> getAll() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserDto)
-                .collect(Collectors.toList());
+        return userRepository.findAllUserDtos();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public void delete(long userId) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь с id " + userId + " не найден");
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+
+@Getter
+@EqualsAndHashCode
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int pageSize;
+    private final Sort sort;
+
+    private OffsetPageRequest(long offset, int pageSize, Sort sort) {
+        this.offset = offset;
+        this.pageSize = pageSize;
+        this.sort = sort;
+    }
+
+    public static OffsetPageRequest of(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / pageSize);
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + pageSize, pageSize, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - pageSize, 0), pageSize, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, pageSize, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * pageSize, pageSize, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
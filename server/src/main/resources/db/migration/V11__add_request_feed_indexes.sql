@@ -0,0 +1,5 @@
+DROP INDEX idx_requests_requestor_created;
+
+CREATE INDEX idx_requests_requestor_created ON requests (requestor_id, created DESC, id DESC);
+
+CREATE INDEX idx_requests_created ON requests (created DESC, id DESC);
@@ -0,0 +1,21 @@
+CREATE TABLE request_inbox (
+  item_id BIGINT NOT NULL,
+  request_id BIGINT NOT NULL,
+  requestor_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  item_name VARCHAR(255) NOT NULL,
+  item_description VARCHAR(1024) NOT NULL,
+  is_available BOOLEAN NOT NULL,
+  updated TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_request_inbox PRIMARY KEY (item_id),
+  CONSTRAINT fk_request_inbox_to_item FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+  CONSTRAINT fk_request_inbox_to_request FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_request_inbox_requestor_updated ON request_inbox (requestor_id, updated DESC, item_id DESC);
+
+INSERT INTO request_inbox (item_id, request_id, requestor_id, owner_id, item_name, item_description, is_available, updated)
+SELECT i.id, i.request_id, r.requestor_id, i.owner_id, i.name, i.description, i.is_available,
+       COALESCE(i.updated_at, i.created_at)
+FROM items i
+JOIN requests r ON r.id = i.request_id;
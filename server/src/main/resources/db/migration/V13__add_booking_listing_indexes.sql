@@ -0,0 +1,7 @@
+DROP INDEX idx_bookings_booker_start;
+
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
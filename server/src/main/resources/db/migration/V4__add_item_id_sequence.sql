@@ -0,0 +1 @@
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,7 @@
+CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE request_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE comment_seq START WITH 1 INCREMENT BY 50;
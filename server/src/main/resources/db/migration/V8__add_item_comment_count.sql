@@ -0,0 +1,7 @@
+ALTER TABLE items ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id);
+
+DROP INDEX idx_comments_item;
+
+CREATE INDEX idx_comments_item_created ON comments (item_id, created DESC, id DESC);
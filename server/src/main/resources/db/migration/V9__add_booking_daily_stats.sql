@@ -0,0 +1,12 @@
+CREATE TABLE booking_daily_stats (
+  scope VARCHAR(10) NOT NULL,
+  subject_id BIGINT NOT NULL,
+  stats_date DATE NOT NULL,
+  created_count INTEGER NOT NULL DEFAULT 0,
+  approved_count INTEGER NOT NULL DEFAULT 0,
+  rejected_count INTEGER NOT NULL DEFAULT 0,
+  booked_minutes BIGINT NOT NULL DEFAULT 0,
+  lead_time_minutes BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT pk_booking_daily_stats PRIMARY KEY (scope, subject_id, stats_date),
+  CONSTRAINT chk_booking_daily_stats_scope CHECK (scope IN ('ITEM', 'OWNER'))
+);
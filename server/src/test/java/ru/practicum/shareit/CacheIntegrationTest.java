@@ -0,0 +1,112 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// no @Transactional: the caches only see puts and evictions after commit
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "shareit-server.url=http://localhost:9090"
+        }
+)
+class CacheIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    private Statistics statistics;
+    private User owner;
+    private User other;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(new User(null, "Owner", "cache-owner@example.com"));
+        other = userRepository.save(new User(null, "Other", "cache-other@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Electric drill", true, owner, null));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAllById(List.of(owner.getId(), other.getId()));
+    }
+
+    @Test
+    void getUserById_Repeated_ShouldBeServedFromCache() {
+        userService.getById(owner.getId());
+        userService.getById(owner.getId());
+
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void getItemById_Repeated_ShouldLoadItemOnce() {
+        itemService.getById(item.getId(), other.getId());
+        statistics.clear();
+
+        itemService.getById(item.getId(), other.getId());
+
+        assertStatementsAtMost(0);
+    }
+
+    @Test
+    void updateUser_ShouldEvictCachedUser() {
+        userService.getById(owner.getId());
+
+        userService.update(owner.getId(), new UserDto(null, "Renamed", null));
+
+        assertEquals("Renamed", userService.getById(owner.getId()).getName());
+    }
+
+    @Test
+    void updateItem_ShouldEvictCachedItem() {
+        itemService.getById(item.getId(), owner.getId());
+
+        itemService.update(owner.getId(), item.getId(), new ItemDto(null, null, null, false, null));
+
+        assertFalse(itemService.getById(item.getId(), owner.getId()).getAvailable());
+    }
+
+    private void assertStatementsAtMost(long expected) {
+        long actual = statistics.getPrepareStatementCount();
+        assertTrue(actual <= expected, "Ожидалось не более " + expected + " SQL-запросов, выполнено " + actual);
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.inbox.RequestInboxRepository;
+import ru.practicum.shareit.stats.BookingDailyStatsRepository;
+import ru.practicum.shareit.stats.StatsScope;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = {
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.SqlRecorder",
+                "shareit-server.url=http://localhost:9090"
+        }
+)
+@Transactional
+class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingDailyStatsRepository bookingDailyStatsRepository;
+
+    @Autowired
+    private RequestInboxRepository requestInboxRepository;
+
+    private final Pageable page = OffsetPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private final LocalDateTime now = LocalDateTime.now();
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+    private long requestId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        for (int i = 0; i < 20; i++) {
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Need item " + i, booker, now.minusDays(i)));
+            Item item = itemRepository.save(new Item(null, "Item " + i, "Description " + i, true, owner, request));
+            bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                    item, booker, BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                    item, booker, BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "Comment " + i, item, booker, now));
+            itemId = item.getId();
+            requestId = request.getId();
+        }
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookerBookingQueries_ShouldUseIndexes() {
+        assertPagesIndexed(BookingRole.BOOKER, bookerId);
+    }
+
+    @Test
+    void ownerBookingQueries_ShouldUseIndexes() {
+        assertPagesIndexed(BookingRole.OWNER, ownerId);
+    }
+
+    @Test
+    void itemBookingQueries_ShouldUseIndexes() {
+        assertIndexed(() -> bookingRepository.findLastBookingsForItems(List.of(itemId), now));
+        assertIndexed(() -> bookingRepository.findNextBookingsForItems(List.of(itemId), now));
+        assertIndexed(() -> bookingRepository.hasUserBookedItem(itemId, bookerId, now));
+    }
+
+    @Test
+    void archiveQueries_ShouldUseIndexes() {
+        assertIndexed(() -> bookingRepository.findArchivableIds(now, now, PageRequest.of(0, 10)));
+        assertIndexed(() -> archivedBookingRepository.findById(itemId));
+        assertIndexed(() -> archivedBookingRepository.hasUserBookedItem(itemId, bookerId, now));
+    }
+
+    @Test
+    void itemQueries_ShouldUseIndexes() {
+        assertIndexed(() -> itemRepository.findByOwnerId(ownerId));
+        assertIndexed(() -> itemRepository.findByRequestId(requestId));
+        assertIndexed(() -> itemRepository.findByRequestIdIn(List.of(requestId)));
+    }
+
+    @Test
+    void commentQueries_ShouldUseIndexes() {
+        assertIndexed(() -> commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId, PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.findByItemIdBefore(itemId, now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.findRecentByItemIdIn(List.of(itemId), 10));
+    }
+
+    @Test
+    void requestQueries_ShouldUseIndexes() {
+        assertIndexed(() -> itemRequestRepository.findByRequestorId(bookerId, PageRequest.of(0, 10)));
+        assertIndexed(() -> itemRequestRepository.findByRequestorIdBefore(bookerId, now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+        assertIndexed(() -> itemRequestRepository.findByRequestorIdNot(bookerId, PageRequest.of(0, 10)));
+        assertIndexed(() -> itemRequestRepository.findByRequestorIdNotBefore(bookerId, now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void inboxQueries_ShouldUseIndexes() {
+        assertIndexed(() -> requestInboxRepository.findByRequestorId(bookerId, PageRequest.of(0, 10)));
+        assertIndexed(() -> requestInboxRepository.findByRequestorIdBefore(bookerId, now, Long.MAX_VALUE, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void statsQueries_ShouldUseIndexes() {
+        LocalDate today = now.toLocalDate();
+        assertIndexed(() -> bookingDailyStatsRepository.sum(StatsScope.OWNER, ownerId, today.minusDays(30), today));
+    }
+
+    private void assertPagesIndexed(BookingRole role, long userId) {
+        KeysetCursor after = new KeysetCursor(now, Long.MAX_VALUE);
+        for (BookingState state : BookingState.values()) {
+            assertIndexed(() -> bookingRepository.findPage(role, userId, state, now, null, page));
+            assertIndexed(() -> bookingRepository.findPage(role, userId, state, now, after, page));
+        }
+    }
+
+    private void assertIndexed(Runnable repositoryCall) {
+        SqlRecorder.clear();
+        repositoryCall.run();
+        List<String> statements = SqlRecorder.statements();
+        assertFalse(statements.isEmpty(), "Репозиторий не выполнил ни одного запроса");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(TABLE_SCAN), "Запрос выполняется полным сканированием таблицы:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData metaData = statement.getParameterMetaData();
+                for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "shareit-server.url=http://localhost:9090"
+        }
+)
+@Transactional
+class StatementCountTest {
+    private static final int ITEMS = 5;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+    private User owner;
+    private User requestor;
+    private Item firstItem;
+    private Booking firstBooking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        requestor = userRepository.save(new User(null, "Requestor", "requestor@example.com"));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            User booker = userRepository.save(new User(null, "Booker " + i, "booker" + i + "@example.com"));
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Need item " + i, requestor, now.minusDays(10)));
+            Item item = itemRepository.save(new Item(null, "Item " + i, "Description " + i, true, owner, request));
+            items.add(item);
+
+            Booking past = bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2),
+                    item, booker, BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3),
+                    item, booker, BookingStatus.APPROVED));
+            commentRepository.save(new Comment(null, "Comment " + i, item, booker, now.minusDays(1)));
+            itemRepository.incrementCommentCount(item.getId());
+            if (i == 0) {
+                firstBooking = past;
+            }
+        }
+        firstItem = items.get(0);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllByOwner_ShouldNotLoadAssociationsPerBooking() {
+        int size = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, null, 0, 100).getBookings().size();
+
+        assertEquals(ITEMS * 2, size);
+        // a short ALL page also reads the archive of finished bookings
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void getAllByBooker_ShouldNotLoadAssociationsPerBooking() {
+        long bookerId = firstBooking.getBooker().getId();
+
+        int size = bookingService.getAllByBooker(bookerId, BookingState.ALL, null, 0, 100).getBookings().size();
+
+        assertEquals(2, size);
+        // a short ALL page also reads the archive of finished bookings
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void getBookingById_ShouldLoadBookingWithItemAndBookerAtOnce() {
+        bookingService.getById(owner.getId(), firstBooking.getId());
+
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void getAllItemsByOwner_ShouldNotQueryPerItem() {
+        int size = itemService.getAllByUserId(owner.getId()).size();
+
+        assertEquals(ITEMS, size);
+        assertStatementsAtMost(5);
+    }
+
+    @Test
+    void getItemById_ShouldNotLoadCommentAuthorsSeparately() {
+        itemService.getById(firstItem.getId(), owner.getId());
+
+        assertStatementsAtMost(4);
+    }
+
+    @Test
+    void getAllRequests_ShouldNotLoadRequestorsOrItemsPerRequest() {
+        int size = itemRequestService.getAllByRequestor(requestor.getId(), null, ITEMS).getRequests().size();
+
+        assertEquals(ITEMS, size);
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void createAll_ShouldInsertItemsInJdbcBatches() {
+        Map<Long, ItemDto> itemsByLine = new LinkedHashMap<>();
+        for (long line = 1; line <= 100; line++) {
+            itemsByLine.put(line, new ItemDto(null, "Bulk " + line, "Description", true, null));
+        }
+
+        itemService.createAll(owner.getId(), itemsByLine);
+        entityManager.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        assertStatementsAtMost(6);
+    }
+
+    @Test
+    void saveAllBookings_ShouldInsertInJdbcBatches() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bookings.add(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    firstItem, requestor, BookingStatus.WAITING));
+        }
+
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        assertStatementsAtMost(4);
+    }
+
+    @Test
+    void getAllItemsByOwner_ShouldReturnOnlyNewestCommentsWithCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 12; i++) {
+            commentRepository.save(new Comment(null, "Recent " + i, firstItem, requestor, now.plusMinutes(i)));
+            itemRepository.incrementCommentCount(firstItem.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ItemWithBookingDto first = itemService.getAllByUserId(owner.getId()).stream()
+                .filter(item -> item.getId().equals(firstItem.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(13, first.getCommentCount());
+        assertEquals(10, first.getComments().size());
+        assertEquals("Recent 11", first.getComments().get(0).getText());
+        assertEquals("Recent 2", first.getComments().get(9).getText());
+        assertStatementsAtMost(5);
+
+        CommentPageDto rest = itemService.getComments(firstItem.getId(), first.getCommentsCursor(), 10);
+        assertEquals(List.of("Recent 1", "Recent 0", "Comment 0"),
+                rest.getComments().stream().map(CommentDto::getText).toList());
+        assertNull(rest.getNextCursor());
+    }
+
+    private void assertStatementsAtMost(long expected) {
+        long actual = statistics.getPrepareStatementCount();
+        assertTrue(actual <= expected, "Ожидалось не более " + expected + " SQL-запросов, выполнено " + actual);
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = "shareit-server.url=http://localhost:9090"
+)
+class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "concurrency-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "concurrency-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Electric drill", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllByIdInBatch(bookings.stream().map(Booking::getId).toList());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void approve_OverlappingBookingsConcurrently_ShouldApproveOnlyOne() throws Exception {
+        createBookings(1);
+
+        List<Outcome> outcomes = approveConcurrently(bookings);
+
+        assertEquals(1, count(outcomes, Outcome.APPROVED));
+        assertEquals(0, count(outcomes, Outcome.REJECTED_AS_DECIDED));
+        assertEquals(1, countApproved());
+    }
+
+    @Test
+    void approve_DisjointBookingsConcurrently_ShouldCommitExactlyTheSuccessfulCalls() throws Exception {
+        createBookings(48);
+
+        List<Outcome> outcomes = approveConcurrently(bookings);
+
+        long approved = count(outcomes, Outcome.APPROVED);
+        assertTrue(approved > 0);
+        assertEquals(0, count(outcomes, Outcome.REJECTED_AS_DECIDED));
+        assertEquals(approved, countApproved());
+        assertEquals(item.getVersion() + approved, itemRepository.findById(item.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void approve_SameBookingConcurrently_ShouldDecideItOnce() throws Exception {
+        createBookings(1);
+        Booking booking = bookings.get(0);
+
+        List<Outcome> outcomes = approveConcurrently(Collections.nCopies(THREADS, booking));
+
+        assertEquals(1, count(outcomes, Outcome.APPROVED));
+        assertEquals(THREADS - 1, count(outcomes, Outcome.REJECTED_AS_DECIDED) + count(outcomes, Outcome.CONFLICT));
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(booking.getVersion() + 1, stored.getVersion());
+    }
+
+    private void createBookings(int hoursApart) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime bookingStart = start.plusHours((long) i * hoursApart);
+            BookingResponseDto created = bookingService.create(booker.getId(),
+                    new BookingDto(null, bookingStart, bookingStart.plusDays(1), item.getId(), null));
+            bookings.add(bookingRepository.findById(created.getId()).orElseThrow());
+        }
+    }
+
+    private List<Outcome> approveConcurrently(List<Booking> targets) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(targets.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (Booking booking : targets) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.approve(owner.getId(), booking.getId(), true);
+                    return Outcome.APPROVED;
+                } catch (ConflictException | OptimisticLockingFailureException e) {
+                    return Outcome.CONFLICT;
+                } catch (ValidationException e) {
+                    return Outcome.REJECTED_AS_DECIDED;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Future<Outcome> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return outcomes;
+    }
+
+    private long countApproved() {
+        return bookingRepository.findAllById(bookings.stream().map(Booking::getId).toList()).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count();
+    }
+
+    private static long count(List<Outcome> outcomes, Outcome outcome) {
+        return outcomes.stream().filter(outcome::equals).count();
+    }
+
+    private enum Outcome {
+        APPROVED,
+        CONFLICT,
+        REJECTED_AS_DECIDED
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -23,6 +24,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -133,8 +135,8 @@ class BookingControllerTest {
 
     @Test
     void getAllByBooker_ShouldReturnBookingsList() throws Exception {
-        when(bookingService.getAllByBooker(anyLong(), any(BookingState.class)))
-                .thenReturn(List.of(bookingResponseDto));
+        when(bookingService.getAllByBooker(anyLong(), any(BookingState.class), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponseDto), null));
 
         mockMvc.perform(get("/bookings")
                         .header(Constants.USER_ID_HEADER, 2L)
@@ -144,13 +146,13 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].status", is("WAITING")));
 
-        verify(bookingService, times(1)).getAllByBooker(anyLong(), any(BookingState.class));
+        verify(bookingService, times(1)).getAllByBooker(anyLong(), any(BookingState.class), isNull(), anyInt(), anyInt());
     }
 
     @Test
     void getAllByOwner_ShouldReturnBookingsList() throws Exception {
-        when(bookingService.getAllByOwner(anyLong(), any(BookingState.class)))
-                .thenReturn(List.of(bookingResponseDto));
+        when(bookingService.getAllByOwner(anyLong(), any(BookingState.class), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponseDto), null));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(Constants.USER_ID_HEADER, 1L)
@@ -160,17 +162,53 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].status", is("WAITING")));
 
-        verify(bookingService, times(1)).getAllByOwner(anyLong(), any(BookingState.class));
+        verify(bookingService, times(1)).getAllByOwner(anyLong(), any(BookingState.class), isNull(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAllByOwner_WithPagination_ShouldPassFromAndSize() throws Exception {
+        when(bookingService.getAllByOwner(anyLong(), any(BookingState.class), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponseDto), null));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .param("state", "ALL")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(bookingService, times(1)).getAllByOwner(1L, BookingState.ALL, null, 20, 5);
+    }
+
+    @Test
+    void getAllByOwner_WithNextPage_ShouldPassCursorAndReturnCursorHeader() throws Exception {
+        when(bookingService.getAllByOwner(anyLong(), any(BookingState.class), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponseDto), "next"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .param("state", "FUTURE")
+                        .param("cursor", "prev")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(bookingService, times(1)).getAllByOwner(1L, BookingState.FUTURE, "prev", 0, 1);
     }
 
     @Test
     void parseBookingState_WithValidState_ShouldReturnState() throws Exception {
+        when(bookingService.getAllByBooker(anyLong(), any(BookingState.class), any(), anyInt(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(), null));
+
         mockMvc.perform(get("/bookings")
                         .header(Constants.USER_ID_HEADER, 2L)
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
 
-        verify(bookingService, times(1)).getAllByBooker(anyLong(), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getAllByBooker(anyLong(), eq(BookingState.ALL), isNull(), eq(0), eq(10));
     }
 
 }
\ No newline at end of file
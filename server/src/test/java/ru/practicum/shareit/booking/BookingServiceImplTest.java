@@ -6,9 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -16,6 +22,7 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,12 +38,18 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -55,6 +68,7 @@ class BookingServiceImplTest {
         booker = new User(2L, "Booker", "booker@example.com");
 
         item = new Item(1L, "Drill", "Electric drill", true, owner, null);
+        item.setVersion(3L);
 
         bookingDto = new BookingDto(
                 1L,
@@ -76,8 +90,8 @@ class BookingServiceImplTest {
 
     @Test
     void create_WithValidData_ShouldReturnBookingResponseDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingResponseDto result = bookingService.create(2L, bookingDto);
@@ -88,43 +102,44 @@ class BookingServiceImplTest {
         assertEquals(booking.getEnd(), result.getEnd());
         assertEquals(BookingStatus.WAITING, result.getStatus());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(eventPublisher, times(1)).publishEvent(BookingChangedEvent.of(booking));
     }
 
     @Test
     void create_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.create(2L, bookingDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, never()).findCachedById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void create_WithNonExistingItem_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.create(2L, bookingDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void create_ByOwner_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(NotFoundException.class, () -> bookingService.create(1L, bookingDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
@@ -132,13 +147,13 @@ class BookingServiceImplTest {
     void create_WithUnavailableItem_ShouldThrowValidationException() {
         Item unavailableItem = new Item(1L, "Drill", "Electric drill", false, owner, null);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(unavailableItem));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(unavailableItem));
 
         assertThrows(ValidationException.class, () -> bookingService.create(2L, bookingDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
@@ -152,13 +167,24 @@ class BookingServiceImplTest {
                 BookingStatus.WAITING
         );
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(ValidationException.class, () -> bookingService.create(2L, invalidBookingDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void create_WithApprovedOverlap_ShouldThrowConflictException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsApprovedOverlap(1L, bookingDto.getStart(), bookingDto.getEnd())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.create(2L, bookingDto));
+
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
@@ -174,7 +200,8 @@ class BookingServiceImplTest {
         );
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(approvedBooking);
+        when(itemRepository.incrementVersion(1L, 3L)).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(approvedBooking);
 
         BookingResponseDto result = bookingService.approve(1L, 1L, true);
 
@@ -182,7 +209,8 @@ class BookingServiceImplTest {
         assertEquals(BookingStatus.APPROVED, result.getStatus());
 
         verify(bookingRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(eventPublisher, times(1)).publishEvent(BookingChangedEvent.of(approvedBooking));
     }
 
     @Test
@@ -197,7 +225,7 @@ class BookingServiceImplTest {
         );
 
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(rejectedBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(rejectedBooking);
 
         BookingResponseDto result = bookingService.approve(1L, 1L, false);
 
@@ -205,7 +233,7 @@ class BookingServiceImplTest {
         assertEquals(BookingStatus.REJECTED, result.getStatus());
 
         verify(bookingRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -215,7 +243,7 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookingService.approve(1L, 1L, true));
 
         verify(bookingRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -225,7 +253,7 @@ class BookingServiceImplTest {
         assertThrows(ForbiddenException.class, () -> bookingService.approve(2L, 1L, true));
 
         verify(bookingRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -244,7 +272,40 @@ class BookingServiceImplTest {
         assertThrows(ValidationException.class, () -> bookingService.approve(1L, 1L, true));
 
         verify(bookingRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void approve_WithApprovedOverlap_ShouldThrowConflictException() {
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(1L, booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.approve(1L, 1L, true));
+
+        verify(itemRepository, never()).incrementVersion(anyLong(), anyLong());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void approve_WithConcurrentlyChangedItem_ShouldThrowOptimisticLockingFailure() {
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.incrementVersion(1L, 3L)).thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingService.approve(1L, 1L, true));
+
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void approve_Rejecting_ShouldNotBumpItemVersion() {
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        bookingService.approve(1L, 1L, false);
+
+        verify(itemRepository, never()).incrementVersion(anyLong(), anyLong());
+        verify(bookingRepository, never()).existsApprovedOverlap(anyLong(), any(), any());
     }
 
     @Test
@@ -289,229 +350,316 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookingService.getById(1L, 1L));
 
         verify(bookingRepository, times(1)).findById(anyLong());
+        verify(archivedBookingRepository, times(1)).findById(anyLong());
     }
 
     @Test
-    void getAllByBooker_WithStateAll_ShouldReturnAllBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerId(anyLong(), any(Sort.class))).thenReturn(List.of(booking));
+    void getAllByBooker_WithStateAll_ShouldQueryAllBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.ALL);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.ALL, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerId(anyLong(), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.ALL),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByBooker_WithStateCurrent_ShouldReturnCurrentBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findCurrentBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithStateCurrent_ShouldQueryCurrentBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.CURRENT);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.CURRENT, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findCurrentBookingsByBookerId(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.CURRENT),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByBooker_WithStatePast_ShouldReturnPastBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithStatePast_ShouldQueryPastBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.PAST);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.PAST, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.PAST),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByBooker_WithStateFuture_ShouldReturnFutureBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithStateFuture_ShouldQueryFutureBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.FUTURE);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.FUTURE, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.FUTURE),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByBooker_WithStateWaiting_ShouldReturnWaitingBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStatus(anyLong(), eq(BookingStatus.WAITING), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithStateWaiting_ShouldQueryWaitingBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.WAITING);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.WAITING, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerIdAndStatus(anyLong(), eq(BookingStatus.WAITING), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.WAITING),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByBooker_WithStateRejected_ShouldReturnRejectedBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithStateRejected_ShouldQueryRejectedBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByBooker(2L, BookingState.REJECTED);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.REJECTED, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findByBookerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
     void getAllByBooker_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllByBooker(2L, BookingState.ALL));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllByBooker(2L, BookingState.ALL, null, 0, 10));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithStateAll_ShouldReturnAllBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findByOwnerId(anyLong(), any(Sort.class))).thenReturn(List.of(booking));
+    void getAllByBooker_WithOffset_ShouldPassOffsetAndSizeToRepository() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.ALL);
+        bookingService.getAllByBooker(2L, BookingState.ALL, null, 5, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.ALL), any(),
+                isNull(), argThat(pageable -> pageable.getOffset() == 5 && pageable.getPageSize() == 11));
+    }
+
+    @Test
+    void getAllByBooker_WithMoreBookings_ShouldReturnCursorOfLastBooking() {
+        Booking older = new Booking(2L, now.minusDays(2), now.minusDays(1), item, booker, BookingStatus.APPROVED);
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking),
+                        BookingMapper.toBookingResponseDto(older)));
+
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.ALL, null, 0, 1);
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findByOwnerId(anyLong(), any(Sort.class));
+        assertEquals(1, result.getBookings().size());
+        assertEquals(new KeysetCursor(booking.getStart(), booking.getId()).encode(), result.getNextCursor());
     }
 
     @Test
-    void getAllByOwner_WithStateCurrent_ShouldReturnCurrentBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findCurrentBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithExactlyFullLastPage_ShouldNotReturnCursor() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.CURRENT);
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.ALL, null, 0, 1);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllByBooker_WithCursor_ShouldContinueAfterCursorPosition() {
+        KeysetCursor cursor = new KeysetCursor(booking.getStart(), 7L);
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        BookingPageDto result = bookingService.getAllByBooker(2L, BookingState.PAST, cursor.encode(), 0, 10);
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findCurrentBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        assertTrue(result.getBookings().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.BOOKER), eq(2L), eq(BookingState.PAST), any(),
+                eq(cursor), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithStatePast_ShouldReturnPastBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findPastBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithCursorAndFrom_ShouldThrowValidationException() {
+        String cursor = new KeysetCursor(booking.getStart(), 7L).encode();
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.PAST);
+        assertThrows(ValidationException.class,
+                () -> bookingService.getAllByBooker(2L, BookingState.ALL, cursor, 10, 10));
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByBooker_WithInvalidCursor_ShouldThrowValidationException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findPastBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getAllByBooker(2L, BookingState.ALL, "not-a-cursor", 0, 10));
+
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithStateFuture_ShouldReturnFutureBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findFutureBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByBooker_WithNegativeFrom_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> bookingService.getAllByBooker(2L, BookingState.ALL, null, -1, 10));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.FUTURE);
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
+    }
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+    @Test
+    void getAllByBooker_WithZeroSize_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> bookingService.getAllByBooker(2L, BookingState.ALL, null, 0, 0));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findFutureBookingsByOwnerId(anyLong(), any(LocalDateTime.class), any(Sort.class));
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithStateWaiting_ShouldReturnWaitingBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findByOwnerIdAndStatus(anyLong(), eq(BookingStatus.WAITING), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByOwner_WithStateAll_ShouldQueryAllBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.WAITING);
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.ALL, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findByOwnerIdAndStatus(anyLong(), eq(BookingStatus.WAITING), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.ALL),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithStateRejected_ShouldReturnRejectedBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepository.findByOwnerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    void getAllByOwner_WithStateCurrent_ShouldQueryCurrentBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.REJECTED);
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.CURRENT, null, 0, 10);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, times(1)).findByOwnerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.CURRENT),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+    void getAllByOwner_WithStatePast_ShouldQueryPastBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllByOwner(1L, BookingState.ALL));
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.PAST, null, 0, 10);
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).findByOwnerId(anyLong());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.PAST),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
     }
 
     @Test
-    void getAllByOwner_WithNoItems_ShouldReturnEmptyList() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of());
+    void getAllByOwner_WithStateFuture_ShouldQueryFutureBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
-        List<BookingResponseDto> result = bookingService.getAllByOwner(1L, BookingState.ALL);
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.FUTURE, null, 0, 10);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(bookingRepository, never()).findByOwnerId(anyLong(), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.FUTURE),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwner_WithStateWaiting_ShouldQueryWaitingBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
+
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.WAITING, null, 0, 10);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.WAITING),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwner_WithStateRejected_ShouldQueryRejectedBookings() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
+
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.REJECTED, null, 0, 10);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, times(1)).findPage(eq(BookingRole.OWNER), eq(1L), eq(BookingState.REJECTED),
+                any(LocalDateTime.class), isNull(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwner_WithNonExistingUser_ShouldThrowNotFoundException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllByOwner(1L, BookingState.ALL, null, 0, 10));
+
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(bookingRepository, never()).findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwner_ShouldNotLoadOwnerItems() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findPage(any(), anyLong(), any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        BookingPageDto result = bookingService.getAllByOwner(1L, BookingState.ALL, null, 0, 10);
+
+        assertTrue(result.getBookings().isEmpty());
+        verify(itemRepository, never()).findByOwnerId(anyLong());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.archive;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = "shareit-server.url=http://localhost:9090"
+)
+@Transactional
+class BookingArchiverIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDateTime now;
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item ladder;
+    private Booking oldApproved;
+    private Booking oldRejected;
+    private Booking recent;
+    private Booking ladderOld;
+    private Booking ladderLast;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        User other = userRepository.save(new User(null, "Other", "other@example.com"));
+        drill = itemRepository.save(new Item(null, "Drill", "Electric drill", true, owner, null));
+        ladder = itemRepository.save(new Item(null, "Ladder", "Folding ladder", true, owner, null));
+
+        oldApproved = book(drill, booker, 200, BookingStatus.APPROVED);
+        oldRejected = book(drill, booker, 150, BookingStatus.REJECTED);
+        recent = book(drill, booker, 3, BookingStatus.APPROVED);
+        ladderOld = book(ladder, booker, 190, BookingStatus.APPROVED);
+        ladderLast = book(ladder, other, 100, BookingStatus.APPROVED);
+        bookingRepository.flush();
+    }
+
+    @Test
+    void archive_ShouldMoveFinishedBookingsButKeepLastBookingOfItem() {
+        assertEquals(3, archive());
+        assertEquals(0, archive());
+
+        assertTrue(bookingRepository.findById(oldApproved.getId()).isEmpty());
+        assertTrue(bookingRepository.findById(oldRejected.getId()).isEmpty());
+        assertTrue(bookingRepository.findById(ladderOld.getId()).isEmpty());
+        assertTrue(bookingRepository.findById(recent.getId()).isPresent());
+        assertTrue(bookingRepository.findById(ladderLast.getId()).isPresent());
+
+        assertEquals(ladderLast.getId(), itemService.getById(ladder.getId(), owner.getId()).getLastBooking().getId());
+    }
+
+    @Test
+    void getAllByBooker_Past_ShouldMergeArchivedBookingsInOrder() {
+        archive();
+
+        BookingPageDto first = bookingService.getAllByBooker(booker.getId(), BookingState.PAST, null, 0, 2);
+        BookingPageDto second = bookingService.getAllByBooker(booker.getId(), BookingState.PAST,
+                first.getNextCursor(), 0, 2);
+
+        assertEquals(List.of(recent.getId(), oldRejected.getId()), ids(first));
+        assertEquals(List.of(ladderOld.getId(), oldApproved.getId()), ids(second));
+        assertEquals(List.of(recent.getId(), oldRejected.getId(), ladderOld.getId(), oldApproved.getId()),
+                ids(bookingService.getAllByBooker(booker.getId(), BookingState.ALL, null, 0, 10)));
+        assertEquals(List.of(oldRejected.getId()),
+                ids(bookingService.getAllByBooker(booker.getId(), BookingState.REJECTED, null, 0, 10)));
+    }
+
+    @Test
+    void getAllByOwner_All_ShouldIncludeArchivedBookings() {
+        archive();
+
+        BookingPageDto page = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, null, 1, 3);
+
+        assertEquals(List.of(ladderLast.getId(), oldRejected.getId(), ladderOld.getId()), ids(page));
+    }
+
+    @Test
+    void getById_WithArchivedBooking_ShouldReadArchive() {
+        archive();
+
+        BookingResponseDto booking = bookingService.getById(owner.getId(), oldApproved.getId());
+
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+        assertEquals(drill.getId(), booking.getItem().getId());
+        assertEquals(booker.getId(), booking.getBooker().getId());
+    }
+
+    @Test
+    void createComment_WithOnlyArchivedBooking_ShouldBeAllowed() {
+        archive();
+
+        CommentRequestDto comment = new CommentRequestDto();
+        comment.setText("Sturdy");
+
+        assertEquals("Sturdy", itemService.createComment(booker.getId(), ladder.getId(), comment).getText());
+    }
+
+    private int archive() {
+        int archived = bookingArchiver.archive(now);
+        entityManager.clear();
+        return archived;
+    }
+
+    private Booking book(Item item, User user, int daysAgo, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, now.minusDays(daysAgo), now.minusDays(daysAgo).plusHours(5),
+                item, user, status));
+    }
+
+    private static List<Long> ids(BookingPageDto page) {
+        return page.getBookings().stream().map(BookingResponseDto::getId).toList();
+    }
+}
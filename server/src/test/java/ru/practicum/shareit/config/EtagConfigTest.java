@@ -0,0 +1,83 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@ContextConfiguration(classes = {UserController.class, EtagConfig.class})
+class EtagConfigTest {
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void get_ShouldReturnStrongEtagAndNotModifiedOnMatch() throws Exception {
+        when(userService.getById(1L)).thenReturn(new UserDto(1L, "John", "john@example.com"));
+
+        String etag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void get_AfterChange_ShouldReturnNewBody() throws Exception {
+        when(userService.getById(1L)).thenReturn(new UserDto(1L, "John", "john@example.com"));
+        String etag = mockMvc.perform(get("/users/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(userService.getById(1L)).thenReturn(new UserDto(1L, "Renamed", "john@example.com"));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("{\"id\":1,\"name\":\"Renamed\"")));
+    }
+
+    @Test
+    void get_WithCurrentVersionEtag_ShouldNotLoadUser() throws Exception {
+        when(userService.findEtag(1L)).thenReturn(Optional.of("3"));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(userService, never()).getById(1L);
+    }
+
+    @Test
+    void get_WithStaleVersionEtag_ShouldReturnBodyWithCurrentVersion() throws Exception {
+        when(userService.findEtag(1L)).thenReturn(Optional.of("4"));
+        when(userService.getById(1L)).thenReturn(new UserDto(1L, "Renamed", "john@example.com"));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().string(startsWith("{\"id\":1,\"name\":\"Renamed\"")));
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBulkImporterTest {
+
+    @Mock
+    private ItemService itemService;
+
+    private ItemBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new ItemBulkImporter(itemService, new ObjectMapper());
+    }
+
+    @Test
+    void importItems_ShouldKeyItemsByLineAndReportMalformedJson() throws Exception {
+        when(itemService.createAll(anyLong(), anyMap()))
+                .thenReturn(new ItemBulkResultDto(1, List.of(new ItemBulkErrorDto(4L, "Описание вещи не может быть пустым"))));
+
+        ItemBulkResultDto result = importer.importItems(1L, ndjson(
+                "{\"name\":\"Drill\",\"description\":\"Electric drill\",\"available\":true}",
+                "{not json",
+                "",
+                "{\"name\":\"Saw\",\"available\":true}"
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, ItemDto>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(itemService, times(1)).createAll(eq(1L), batch.capture());
+        assertEquals(List.of(1L, 4L), List.copyOf(batch.getValue().keySet()));
+        assertEquals("Drill", batch.getValue().get(1L).getName());
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(2L, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getError().startsWith("Некорректный JSON"));
+        assertEquals(4L, result.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void importItems_ShouldSplitLargeImportIntoBatches() throws Exception {
+        when(itemService.createAll(anyLong(), anyMap()))
+                .thenAnswer(invocation -> new ItemBulkResultDto(invocation.<Map<?, ?>>getArgument(1).size(), List.of()));
+        String[] lines = new String[ItemBulkImporter.BATCH_SIZE * 2 + 1];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "{\"name\":\"Item " + i + "\",\"description\":\"Description\",\"available\":true}";
+        }
+
+        ItemBulkResultDto result = importer.importItems(1L, ndjson(lines));
+
+        verify(itemService, times(3)).createAll(eq(1L), anyMap());
+        assertEquals(lines.length, result.getCreated());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    void importItems_WithEmptyBody_ShouldNotCallService() throws Exception {
+        ItemBulkResultDto result = importer.importItems(1L, ndjson());
+
+        assertEquals(0, result.getCreated());
+        verify(itemService, never()).createAll(anyLong(), anyMap());
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
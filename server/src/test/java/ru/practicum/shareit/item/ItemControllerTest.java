@@ -9,23 +9,35 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.util.Constants;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -35,6 +47,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkImporter itemBulkImporter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -66,7 +81,9 @@ class ItemControllerTest {
                 null,
                 lastBooking,
                 nextBooking,
-                List.of(commentDto)
+                List.of(commentDto),
+                1,
+                null
         );
     }
 
@@ -148,31 +165,81 @@ class ItemControllerTest {
     }
 
     @Test
-    void search_WithValidText_ShouldReturnMatchingItems() throws Exception {
-        when(itemService.search(anyString())).thenReturn(List.of(itemDto));
+    void getAvailability_WithPeriod_ShouldReturnIntervals() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new IntervalDto(from, from.plusDays(2)), new IntervalDto(from.plusDays(3), to)),
+                List.of(new IntervalDto(from.plusDays(2), from.plusDays(3))),
+                List.of());
+        when(itemService.getAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.free", hasSize(2)))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.pending", hasSize(0)));
+
+        verify(itemService, times(1)).getAvailability(1L, from, to);
+    }
+
+    @Test
+    void search_WithValidText_ShouldReturnMatchingItemsAndNextCursor() throws Exception {
+        when(itemService.search(anyString(), isNull(), anyInt(), anyInt()))
+                .thenReturn(new ItemSearchPageDto(List.of(itemDto), "next"));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill")
                         .header(Constants.USER_ID_HEADER, 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR_HEADER, "next"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].name", is("Drill")));
 
-        verify(itemService, times(1)).search(anyString());
+        verify(itemService, times(1)).search("drill", null, 0, 10);
     }
 
     @Test
     void search_WithEmptyText_ShouldReturnEmptyList() throws Exception {
-        when(itemService.search(anyString())).thenReturn(Collections.emptyList());
+        when(itemService.search(anyString(), isNull(), anyInt(), anyInt()))
+                .thenReturn(new ItemSearchPageDto(Collections.emptyList(), null));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "")
                         .header(Constants.USER_ID_HEADER, 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Constants.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(itemService, times(1)).search(anyString());
+        verify(itemService, times(1)).search(anyString(), isNull(), anyInt(), anyInt());
+    }
+
+    @Test
+    void search_AcceptingNdjson_ShouldStreamOneItemPerLine() throws Exception {
+        ItemDto saw = new ItemDto(2L, "Saw", "Hand saw", true, null);
+        doAnswer(invocation -> {
+            Consumer<List<ItemDto>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(itemDto));
+            consumer.accept(List.of(saw));
+            return null;
+        }).when(itemService).searchAll(eq("drill"), eq("cursor"), any());
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("cursor", "cursor")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(itemDto) + "\n"
+                        + objectMapper.writeValueAsString(saw) + "\n"));
     }
 
     @Test
@@ -191,4 +258,35 @@ class ItemControllerTest {
         verify(itemService, times(1)).createComment(anyLong(), anyLong(), any(CommentRequestDto.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    void createBulk_WithNdjson_ShouldReturnImportResult() throws Exception {
+        when(itemBulkImporter.importItems(anyLong(), any(InputStream.class)))
+                .thenReturn(new ItemBulkResultDto(1, List.of(new ItemBulkErrorDto(2L, "Некорректный JSON"))));
+
+        mockMvc.perform(post("/items/bulk")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n{oops\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+
+        verify(itemBulkImporter, times(1)).importItems(eq(1L), any(InputStream.class));
+    }
+
+    @Test
+    void getComments_ShouldPassCursorAndSize() throws Exception {
+        when(itemService.getComments(anyLong(), anyString(), anyInt()))
+                .thenReturn(new CommentPageDto(List.of(commentDto), "next"));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(itemService, times(1)).getComments(1L, "abc", 5);
+    }
+}
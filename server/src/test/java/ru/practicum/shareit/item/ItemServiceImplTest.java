@@ -6,28 +6,45 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBulkErrorDto;
+import ru.practicum.shareit.item.dto.ItemBulkResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,12 +59,24 @@ class ItemServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private CommentRepository commentRepository;
 
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -68,6 +97,7 @@ class ItemServiceImplTest {
         itemRequest = new ItemRequest(1L, "Need a drill", booker, LocalDateTime.now());
 
         item = new Item(1L, "Drill", "Electric drill", true, owner, itemRequest);
+        item.setCommentCount(1);
 
         itemDto = new ItemDto(1L, "Drill", "Electric drill", true, 1L);
 
@@ -95,7 +125,7 @@ class ItemServiceImplTest {
 
     @Test
     void create_WithValidData_ShouldReturnItemDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
@@ -108,29 +138,31 @@ class ItemServiceImplTest {
         assertEquals(itemDto.getAvailable(), result.getAvailable());
         assertEquals(itemDto.getRequestId(), result.getRequestId());
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((ItemChangedEvent event) ->
+                event.itemId() == 1L && event.requestId() == 1L && event.requestorId() == 2L));
     }
 
     @Test
     void create_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.create(1L, itemDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRepository, never()).save(any(Item.class));
     }
 
     @Test
     void create_WithNonExistingRequest_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.create(1L, itemDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
         verify(itemRepository, never()).save(any(Item.class));
     }
@@ -141,7 +173,7 @@ class ItemServiceImplTest {
         Item updatedItem = new Item(1L, "Updated Drill", "Updated description", false, owner, itemRequest);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(updatedItem);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(updatedItem);
 
         ItemDto result = itemService.update(1L, 1L, updateDto);
 
@@ -151,7 +183,9 @@ class ItemServiceImplTest {
         assertEquals(updateDto.getAvailable(), result.getAvailable());
 
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((ItemChangedEvent event) ->
+                event.itemId() == 1L && !event.available() && event.name().equals("Updated Drill")));
     }
 
     @Test
@@ -161,7 +195,7 @@ class ItemServiceImplTest {
         assertThrows(NotFoundException.class, () -> itemService.update(1L, 1L, itemDto));
 
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
     }
 
     @Test
@@ -171,7 +205,7 @@ class ItemServiceImplTest {
         assertThrows(NotFoundException.class, () -> itemService.update(2L, 1L, itemDto));
 
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
     }
 
     @Test
@@ -181,7 +215,7 @@ class ItemServiceImplTest {
         Item updatedItem = new Item(1L, "Drill", "Updated description", true, owner, itemRequest);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(originalItem));
-        when(itemRepository.save(any(Item.class))).thenReturn(updatedItem);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(updatedItem);
 
         ItemDto result = itemService.update(1L, 1L, updateDto);
 
@@ -191,17 +225,32 @@ class ItemServiceImplTest {
         assertTrue(result.getAvailable());
 
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+    }
+
+    @Test
+    void findEtag_ByNonOwner_ShouldCombineVersionAndCommentCount() {
+        item.setVersion(3L);
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+
+        assertEquals(Optional.of("3-1"), itemService.findEtag(1L, 2L));
+    }
+
+    @Test
+    void findEtag_ByOwner_ShouldBeEmpty() {
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+
+        assertTrue(itemService.findEtag(1L, 1L).isEmpty());
     }
 
     @Test
     void getById_ByOwner_ShouldReturnItemWithBookingsInfo() {
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.findLastBookingForItem(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(List.of(lastBooking));
         when(bookingRepository.findNextBookingForItem(anyLong(), any(LocalDateTime.class)))
                 .thenReturn(List.of(nextBooking));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(comment));
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class))).thenReturn(List.of(comment));
 
         ItemWithBookingDto result = itemService.getById(1L, 1L);
 
@@ -214,16 +263,16 @@ class ItemServiceImplTest {
         assertNotNull(result.getNextBooking());
         assertEquals(1, result.getComments().size());
 
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, times(1)).findLastBookingForItem(anyLong(), any(LocalDateTime.class));
         verify(bookingRepository, times(1)).findNextBookingForItem(anyLong(), any(LocalDateTime.class));
-        verify(commentRepository, times(1)).findByItemId(anyLong());
+        verify(commentRepository, times(1)).findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class));
     }
 
     @Test
     void getById_ByNonOwner_ShouldReturnItemWithoutBookingsInfo() {
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(comment));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class))).thenReturn(List.of(comment));
 
         ItemWithBookingDto result = itemService.getById(1L, 2L);
 
@@ -236,19 +285,19 @@ class ItemServiceImplTest {
         assertNull(result.getNextBooking());
         assertEquals(1, result.getComments().size());
 
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, never()).findLastBookingForItem(anyLong(), any(LocalDateTime.class));
         verify(bookingRepository, never()).findNextBookingForItem(anyLong(), any(LocalDateTime.class));
-        verify(commentRepository, times(1)).findByItemId(anyLong());
+        verify(commentRepository, times(1)).findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class));
     }
 
     @Test
     void getById_WithNonExistingItem_ShouldThrowNotFoundException() {
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.getById(1L, 1L));
 
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
     }
 
     @Test
@@ -256,12 +305,12 @@ class ItemServiceImplTest {
         List<Item> items = List.of(item);
         List<Comment> comments = List.of(comment);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRepository.findByOwnerId(anyLong())).thenReturn(items);
-        when(commentRepository.findByItemIdIn(anyList())).thenReturn(comments);
-        when(bookingRepository.findLastBookingForItem(anyLong(), any(LocalDateTime.class)))
+        when(commentRepository.findRecentByItemIdIn(anyList(), anyLong())).thenReturn(comments);
+        when(bookingRepository.findLastBookingsForItems(anyList(), any(LocalDateTime.class)))
                 .thenReturn(List.of(lastBooking));
-        when(bookingRepository.findNextBookingForItem(anyLong(), any(LocalDateTime.class)))
+        when(bookingRepository.findNextBookingsForItems(anyList(), any(LocalDateTime.class)))
                 .thenReturn(List.of(nextBooking));
 
         List<ItemWithBookingDto> result = itemService.getAllByUserId(1L);
@@ -272,50 +321,129 @@ class ItemServiceImplTest {
         assertNotNull(result.get(0).getNextBooking());
         assertEquals(1, result.get(0).getComments().size());
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRepository, times(1)).findByOwnerId(anyLong());
-        verify(commentRepository, times(1)).findByItemIdIn(anyList());
-        verify(bookingRepository, times(items.size())).findLastBookingForItem(anyLong(), any(LocalDateTime.class));
-        verify(bookingRepository, times(items.size())).findNextBookingForItem(anyLong(), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findRecentByItemIdIn(anyList(), anyLong());
+        verify(bookingRepository, times(1)).findLastBookingsForItems(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingsForItems(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findLastBookingForItem(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextBookingForItem(anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getAllByUserId_WithoutItems_ShouldReturnEmptyListWithoutBookingQueries() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRepository.findByOwnerId(anyLong())).thenReturn(List.of());
+
+        List<ItemWithBookingDto> result = itemService.getAllByUserId(1L);
+
+        assertTrue(result.isEmpty());
+
+        verify(commentRepository, never()).findRecentByItemIdIn(anyList(), anyLong());
+        verify(bookingRepository, never()).findLastBookingsForItems(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextBookingsForItems(anyList(), any(LocalDateTime.class));
     }
 
     @Test
     void getAllByUserId_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.getAllByUserId(1L));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRepository, never()).findByOwnerId(anyLong());
     }
 
     @Test
     void search_WithValidText_ShouldReturnMatchingItems() {
-        when(itemRepository.search(anyString())).thenReturn(List.of(item));
+        when(itemSearchIndex.search(anyString(), isNull(), any(Pageable.class))).thenReturn(matches(1L));
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(item));
 
-        List<ItemDto> result = itemService.search("drill");
+        ItemSearchPageDto result = itemService.search("drill", null, 0, 10);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Drill", result.get(0).getName());
+        assertEquals(1, result.getItems().size());
+        assertEquals("Drill", result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+
+        verify(itemSearchIndex, times(1)).search(eq("drill"), isNull(), any(Pageable.class));
+        verify(itemRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void search_ShouldKeepIndexOrderAndSkipUnavailableItems() {
+        Item hammer = new Item(2L, "Hammer drill", "Heavy", true, owner, null);
+        Item unavailable = new Item(3L, "Old drill", "Broken", false, owner, null);
+        when(itemSearchIndex.search(anyString(), isNull(), any(Pageable.class))).thenReturn(matches(2L, 3L, 1L));
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(item, unavailable, hammer));
+
+        ItemSearchPageDto result = itemService.search("drill", null, 0, 10);
 
-        verify(itemRepository, times(1)).search(anyString());
+        assertEquals(List.of(2L, 1L), result.getItems().stream().map(ItemDto::getId).toList());
+    }
+
+    @Test
+    void search_WithFullPage_ShouldReturnCursorOfLastMatch() {
+        ItemSearchCursor after = new ItemSearchCursor(2, 7L);
+        when(itemSearchIndex.search(eq("drill"), eq(after), any(Pageable.class))).thenReturn(matches(1L, 2L));
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(item));
+
+        ItemSearchPageDto result = itemService.search("drill", after.encode(), 0, 2);
+
+        assertEquals(new ItemSearchCursor(1, 2L), ItemSearchCursor.decode(result.getNextCursor()));
     }
 
     @Test
     void search_WithEmptyText_ShouldReturnEmptyList() {
-        List<ItemDto> result = itemService.search("");
+        ItemSearchPageDto result = itemService.search("", null, 0, 10);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
+
+        verify(itemSearchIndex, never()).search(anyString(), any(), any(Pageable.class));
+    }
 
-        verify(itemRepository, never()).search(anyString());
+    @Test
+    void search_WithNegativeFrom_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemService.search("drill", null, -1, 10));
+
+        verify(itemSearchIndex, never()).search(anyString(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void search_WithCursorAndFrom_ShouldThrowValidationException() {
+        String cursor = new ItemSearchCursor(2, 7L).encode();
+
+        assertThrows(ValidationException.class, () -> itemService.search("drill", cursor, 5, 10));
+
+        verify(itemSearchIndex, never()).search(anyString(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void search_WithMalformedCursor_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemService.search("drill", "%%%", 0, 10));
+    }
+
+    @Test
+    void searchAll_ShouldLoadMatchesInChunks() {
+        long[] ids = new long[501];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        when(itemSearchIndex.rank("drill", null)).thenReturn(matches(ids));
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(item));
+        List<List<ItemDto>> chunks = new ArrayList<>();
+
+        itemService.searchAll("drill", null, chunks::add);
+
+        assertEquals(2, chunks.size());
+        verify(itemRepository, times(2)).findAllById(anyList());
     }
 
     @Test
     void createComment_WithValidData_ShouldReturnCommentDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
@@ -325,44 +453,61 @@ class ItemServiceImplTest {
         assertEquals(comment.getText(), result.getText());
         assertEquals(booker.getName(), result.getAuthorName());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, times(1)).hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class));
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(itemRepository, times(1)).incrementCommentCount(1L);
+    }
+
+    @Test
+    void createComment_WithArchivedBooking_ShouldReturnCommentDto() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(false);
+        when(archivedBookingRepository.hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
+        CommentDto result = itemService.createComment(2L, 1L, commentRequestDto);
+
+        assertEquals(comment.getText(), result.getText());
+        verify(commentRepository, times(1)).save(any(Comment.class));
     }
 
     @Test
     void createComment_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.createComment(2L, 1L, commentRequestDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, never()).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, never()).findCachedById(anyLong());
     }
 
     @Test
     void createComment_WithNonExistingItem_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.createComment(2L, 1L, commentRequestDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
     }
 
     @Test
     void createComment_WithoutBooking_ShouldThrowValidationException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> itemService.createComment(2L, 1L, commentRequestDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, times(1)).hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(archivedBookingRepository, times(1)).hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class));
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
@@ -371,15 +516,177 @@ class ItemServiceImplTest {
         CommentRequestDto emptyCommentDto = new CommentRequestDto();
         emptyCommentDto.setText("");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> itemService.createComment(2L, 1L, emptyCommentDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRepository, times(1)).findCachedById(anyLong());
         verify(bookingRepository, times(1)).hasUserBookedItem(anyLong(), anyLong(), any(LocalDateTime.class));
         verify(commentRepository, never()).save(any(Comment.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_WithExistingItem_ShouldReturnIntervalsFromIndex() {
+        LocalDateTime from = LocalDateTime.now();
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, from.plusDays(1),
+                List.of(new IntervalDto(from, from.plusDays(1))), List.of(), List.of());
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(itemAvailabilityIndex.find(1L, from, from.plusDays(1))).thenReturn(availability);
+
+        assertEquals(availability, itemService.getAvailability(1L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailability_WithNonExistingItem_ShouldThrowNotFoundException() {
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        LocalDateTime from = LocalDateTime.now();
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(1L, from, from.plusDays(1)));
+        verify(itemAvailabilityIndex, never()).find(anyLong(), any(), any());
+    }
+
+    @Test
+    void getAvailability_WithEmptyPeriod_ShouldThrowValidationException() {
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+
+        LocalDateTime from = LocalDateTime.now();
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, from, from));
+        verify(itemAvailabilityIndex, never()).find(anyLong(), any(), any());
+    }
+
+    @Test
+    void createAll_ShouldResolveOwnerAndRequestsOnceAndReportInvalidLines() {
+        Map<Long, ItemDto> itemsByLine = new LinkedHashMap<>();
+        itemsByLine.put(1L, new ItemDto(null, "Drill", "Electric drill", true, 1L));
+        itemsByLine.put(2L, new ItemDto(null, "", "No name", true, null));
+        itemsByLine.put(3L, new ItemDto(null, "Saw", "Hand saw", true, 99L));
+        itemsByLine.put(4L, new ItemDto(7L, "Hammer", "Steel hammer", false, 1L));
+
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+        ItemBulkResultDto result = itemService.createAll(1L, itemsByLine);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(
+                new ItemBulkErrorDto(2L, "Название вещи не может быть пустым"),
+                new ItemBulkErrorDto(3L, "Запрос с id 99 не найден")
+        ), result.getErrors());
+        verify(userRepository, times(1)).findCachedById(1L);
+        verify(itemRequestRepository, times(1)).findAllById(any());
+        verify(itemRepository).saveAll(argThat(items -> {
+            List<Item> saved = (List<Item>) items;
+            return saved.size() == 2
+                    && saved.stream().allMatch(i -> i.getId() == null && i.getOwner() == owner
+                    && i.getRequest() == itemRequest);
+        }));
+        verify(eventPublisher, times(2)).publishEvent(argThat((ItemChangedEvent event) ->
+                booker.getId().equals(event.requestorId())));
+    }
+
+    @Test
+    void createAll_WithoutRequestIds_ShouldNotQueryRequests() {
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(owner));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+        ItemBulkResultDto result = itemService.createAll(1L,
+                Map.of(1L, new ItemDto(null, "Drill", "Electric drill", true, null)));
+
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getErrors().isEmpty());
+        verify(itemRequestRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void createAll_WithNonExistentUser_ShouldThrowNotFoundException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.createAll(99L, Map.of(1L, itemDto)));
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void getById_WithoutComments_ShouldNotQueryComments() {
+        item.setCommentCount(0);
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+
+        ItemWithBookingDto result = itemService.getById(1L, 2L);
+
+        assertTrue(result.getComments().isEmpty());
+        assertEquals(0, result.getCommentCount());
+        assertNull(result.getCommentsCursor());
+        verify(commentRepository, never()).findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getById_WithMoreCommentsThanPreview_ShouldReturnCursorToTheRest() {
+        item.setCommentCount(25);
+        when(itemRepository.findCachedById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(comment));
+
+        ItemWithBookingDto result = itemService.getById(1L, 2L);
+
+        assertEquals(25, result.getCommentCount());
+        assertEquals(new KeysetCursor(comment.getCreated(), comment.getId()),
+                KeysetCursor.decode(result.getCommentsCursor()));
+    }
+
+    @Test
+    void getComments_FirstPage_ShouldReturnNextCursorWhenMoreRemain() {
+        Comment older = new Comment(2L, "Older", item, booker, comment.getCreated().minusDays(1));
+        Comment oldest = new Comment(3L, "Oldest", item, booker, comment.getCreated().minusDays(2));
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(comment, older, oldest));
+
+        CommentPageDto result = itemService.getComments(1L, null, 2);
+
+        assertEquals(List.of(1L, 2L), result.getComments().stream().map(CommentDto::getId).toList());
+        assertEquals(new KeysetCursor(older.getCreated(), 2L), KeysetCursor.decode(result.getNextCursor()));
+        verify(commentRepository).findByItemIdOrderByCreatedDescIdDesc(1L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getComments_WithCursor_ShouldContinueAfterIt() {
+        LocalDateTime created = LocalDateTime.now();
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+        when(commentRepository.findByItemIdBefore(eq(1L), eq(created), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(comment));
+
+        CommentPageDto result = itemService.getComments(1L, new KeysetCursor(created, 5L).encode(), 2);
+
+        assertEquals(1, result.getComments().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getComments_WithMalformedCursor_ShouldThrowValidationException() {
+        when(itemRepository.findCachedById(1L)).thenReturn(Optional.of(item));
+
+        assertThrows(ValidationException.class, () -> itemService.getComments(1L, "not-a-cursor", 10));
+    }
+
+    @Test
+    void getComments_WithNonPositiveSize_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemService.getComments(1L, null, 0));
+        verify(itemRepository, never()).findCachedById(anyLong());
+    }
+
+    private static List<ItemSearchIndex.Match> matches(long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> new ItemSearchIndex.Match(id, 1)).toList();
+    }
+
+    private static List<Item> withIds(List<Item> items) {
+        List<Item> saved = new ArrayList<>();
+        for (Item item : items) {
+            saved.add(new Item((long) saved.size() + 1, item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getOwner(), item.getRequest()));
+        }
+        return saved;
+    }
+}
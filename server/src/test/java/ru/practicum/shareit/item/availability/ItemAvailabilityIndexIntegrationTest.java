@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = "shareit-server.url=http://localhost:9090"
+)
+class ItemAvailabilityIndexIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    private LocalDateTime day;
+    private User owner;
+    private User booker;
+    private Item item;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        owner = userRepository.save(new User(null, "Owner", "availability-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "availability-booker@example.com"));
+        item = itemRepository.save(new Item(null, "Drill", "Electric drill", true, owner, null));
+        bookings = bookingRepository.saveAll(List.of(
+                new Booking(null, day, day.plusDays(1), item, booker, BookingStatus.APPROVED),
+                new Booking(null, day.plusDays(2), day.plusDays(3), item, booker, BookingStatus.WAITING)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void rebuild_OutsideTransaction_ShouldIndexPersistedBookings() {
+        itemAvailabilityIndex.rebuild();
+
+        ItemAvailabilityDto result = itemAvailabilityIndex.find(item.getId(), day, day.plusDays(5));
+        assertEquals(1, result.getBusy().size());
+        assertEquals(1, result.getPending().size());
+    }
+}
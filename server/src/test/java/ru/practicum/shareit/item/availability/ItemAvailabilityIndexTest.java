@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+    private static final long OWNER_ID = 100L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ItemAvailabilityIndex index;
+
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.of(2030, 1, 1, 0, 0);
+    }
+
+    @Test
+    void find_WithoutBookings_ShouldReturnWholePeriodAsFree() {
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+
+        assertEquals(List.of(new IntervalDto(day, day.plusDays(10))), result.getFree());
+        assertTrue(result.getBusy().isEmpty());
+        assertTrue(result.getPending().isEmpty());
+    }
+
+    @Test
+    void find_WithApprovedBookings_ShouldSplitFreeIntervals() {
+        index.onBookingChanged(event(1L, 1L, day.plusDays(2), day.plusDays(3), BookingStatus.APPROVED));
+        index.onBookingChanged(event(2L, 1L, day.plusDays(5), day.plusDays(6), BookingStatus.APPROVED));
+        index.onBookingChanged(event(3L, 2L, day.plusDays(1), day.plusDays(9), BookingStatus.APPROVED));
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+
+        assertEquals(List.of(
+                new IntervalDto(day, day.plusDays(2)),
+                new IntervalDto(day.plusDays(3), day.plusDays(5)),
+                new IntervalDto(day.plusDays(6), day.plusDays(10))
+        ), result.getFree());
+        assertEquals(2, result.getBusy().size());
+    }
+
+    @Test
+    void find_WithBookingStartedBeforePeriod_ShouldReturnItAsBusy() {
+        index.onBookingChanged(event(1L, 1L, day.minusDays(5), day.plusDays(1), BookingStatus.APPROVED));
+        index.onBookingChanged(event(2L, 1L, day.minusDays(3), day.minusDays(2), BookingStatus.APPROVED));
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+
+        assertEquals(List.of(new IntervalDto(day.minusDays(5), day.plusDays(1))), result.getBusy());
+        assertEquals(List.of(new IntervalDto(day.plusDays(1), day.plusDays(10))), result.getFree());
+    }
+
+    @Test
+    void find_WithWaitingBooking_ShouldReturnItAsPendingAndKeepPeriodFree() {
+        index.onBookingChanged(event(1L, 1L, day.plusDays(2), day.plusDays(3), BookingStatus.WAITING));
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+
+        assertEquals(List.of(new IntervalDto(day.plusDays(2), day.plusDays(3))), result.getPending());
+        assertEquals(List.of(new IntervalDto(day, day.plusDays(10))), result.getFree());
+    }
+
+    @Test
+    void onBookingChanged_WhenApprovedOrRejected_ShouldMoveOrDropPendingInterval() {
+        index.onBookingChanged(event(1L, 1L, day.plusDays(2), day.plusDays(3), BookingStatus.WAITING));
+        index.onBookingChanged(event(2L, 1L, day.plusDays(4), day.plusDays(5), BookingStatus.WAITING));
+
+        index.onBookingChanged(event(1L, 1L, day.plusDays(2), day.plusDays(3), BookingStatus.APPROVED));
+        index.onBookingChanged(event(2L, 1L, day.plusDays(4), day.plusDays(5), BookingStatus.REJECTED));
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+        assertEquals(List.of(new IntervalDto(day.plusDays(2), day.plusDays(3))), result.getBusy());
+        assertTrue(result.getPending().isEmpty());
+    }
+
+    @Test
+    void find_AfterBookingsFinished_ShouldDropThemFromTimeline() {
+        LocalDateTime now = LocalDateTime.now();
+        index.onBookingChanged(event(1L, 1L, now.minusDays(400), now.minusDays(1), BookingStatus.APPROVED));
+        index.onBookingChanged(event(2L, 1L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED));
+        index.onBookingChanged(event(3L, 2L, now.minusDays(3), now.minusDays(2), BookingStatus.WAITING));
+
+        ItemAvailabilityDto finished = index.find(1L, now.minusDays(10), now);
+        ItemAvailabilityDto upcoming = index.find(1L, now, now.plusDays(10));
+        ItemAvailabilityDto otherItem = index.find(2L, now.minusDays(10), now);
+
+        assertTrue(finished.getBusy().isEmpty());
+        assertEquals(List.of(new IntervalDto(now.plusDays(1), now.plusDays(2))), upcoming.getBusy());
+        assertTrue(otherItem.getPending().isEmpty());
+    }
+
+    @Test
+    void onBookingChanged_WithOlderVersion_ShouldKeepNewerStatus() {
+        index.onBookingChanged(event(1L, 1L, day.plusDays(1), day.plusDays(2), BookingStatus.APPROVED, 1));
+        index.onBookingChanged(event(2L, 1L, day.plusDays(3), day.plusDays(4), BookingStatus.REJECTED, 1));
+
+        index.onBookingChanged(event(1L, 1L, day.plusDays(1), day.plusDays(2), BookingStatus.WAITING, 0));
+        index.onBookingChanged(event(2L, 1L, day.plusDays(3), day.plusDays(4), BookingStatus.WAITING, 0));
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+        assertEquals(List.of(new IntervalDto(day.plusDays(1), day.plusDays(2))), result.getBusy());
+        assertTrue(result.getPending().isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldIndexWaitingAndApprovedBookings() {
+        Item item = new Item(1L, "Drill", "Electric drill", true, new User(1L, "Owner", "owner@example.com"), null);
+        User booker = new User(2L, "Booker", "booker@example.com");
+        when(bookingRepository.findByStatusIn(anyCollection(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(
+                        new Booking(1L, day.plusDays(1), day.plusDays(2), item, booker, BookingStatus.APPROVED),
+                        new Booking(2L, day.plusDays(3), day.plusDays(4), item, booker, BookingStatus.WAITING)
+                ), PageRequest.of(0, 1000), false));
+
+        index.rebuild();
+
+        ItemAvailabilityDto result = index.find(1L, day, day.plusDays(10));
+        assertEquals(1, result.getBusy().size());
+        assertEquals(1, result.getPending().size());
+    }
+
+    private BookingChangedEvent event(long bookingId, long itemId, LocalDateTime start, LocalDateTime end,
+                                      BookingStatus status) {
+        return event(bookingId, itemId, start, end, status, 0);
+    }
+
+    private BookingChangedEvent event(long bookingId, long itemId, LocalDateTime start, LocalDateTime end,
+                                      BookingStatus status, long version) {
+        return new BookingChangedEvent(bookingId, itemId, OWNER_ID, start, end, status, version);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex index;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User(1L, "Owner", "owner@example.com");
+    }
+
+    @Test
+    void search_ShouldMatchSubstringOfNameOrDescriptionIgnoringCase() {
+        index.index(item(1L, "Дрель", "Простая дрель", true));
+        index.index(item(2L, "Отвертка", "Аккумуляторная отвертка", true));
+
+        assertEquals(List.of(1L), search("дРеЛь", page(0, 10)));
+        assertEquals(List.of(2L), search("аккум", page(0, 10)));
+        assertTrue(search("пила", page(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankWholeNameWordThenNameThenDescription() {
+        index.index(item(1L, "Ящик", "Для дрели", true));
+        index.index(item(2L, "Дрелька", "Маленькая", true));
+        index.index(item(3L, "Ударная дрель", "Мощная", true));
+
+        assertEquals(List.of(3L, 2L), search("дрель", page(0, 10)));
+        assertEquals(List.of(2L, 3L, 1L), search("дрел", page(0, 10)));
+        assertEquals(List.of(3L), search("дрель", page(0, 1)));
+    }
+
+    @Test
+    void search_ShouldSkipUnavailableItems() {
+        index.index(item(1L, "Drill", "Electric drill", false));
+
+        assertTrue(search("drill", page(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldStillMatch() {
+        index.index(item(1L, "Saw", "Hand saw", true));
+
+        assertEquals(List.of(1L), search("sa", page(0, 10)));
+    }
+
+    @Test
+    void search_ShouldApplyOffsetAndSize() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Drill " + id, "Drill", true));
+        }
+
+        assertEquals(List.of(3L, 4L), search("drill", page(2, 2)));
+    }
+
+    @Test
+    void search_AfterCursor_ShouldContinueRanking() {
+        index.index(item(1L, "Ящик", "Для дрели", true));
+        index.index(item(2L, "Дрелька", "Маленькая", true));
+        index.index(item(3L, "Ударная дрель", "Мощная", true));
+        index.index(item(4L, "Дрель", "Простая", true));
+
+        List<ItemSearchIndex.Match> first = index.search("дрел", null, page(0, 2));
+        List<ItemSearchIndex.Match> second = index.search("дрел", first.get(1).toCursor(), page(0, 2));
+
+        assertEquals(List.of(2L, 3L), first.stream().map(ItemSearchIndex.Match::id).toList());
+        assertEquals(List.of(4L, 1L), second.stream().map(ItemSearchIndex.Match::id).toList());
+    }
+
+    @Test
+    void rank_ShouldReturnEveryMatchAfterCursorInOrder() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Drill " + id, "Drill", true));
+        }
+
+        List<ItemSearchIndex.Match> all = index.rank("drill", null);
+        List<ItemSearchIndex.Match> rest = index.rank("drill", all.get(1).toCursor());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), all.stream().map(ItemSearchIndex.Match::id).toList());
+        assertEquals(List.of(3L, 4L, 5L), rest.stream().map(ItemSearchIndex.Match::id).toList());
+    }
+
+    @Test
+    void cursor_ShouldRoundTripAndRejectGarbage() {
+        ItemSearchCursor cursor = new ItemSearchCursor(4, 17L);
+
+        assertEquals(cursor, ItemSearchCursor.decode(cursor.encode()));
+        assertThrows(ValidationException.class, () -> ItemSearchCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void index_WhenItemUpdated_ShouldForgetOldText() {
+        index.index(item(1L, "Drill", "Electric drill", true));
+        index.index(item(1L, "Hammer", "Heavy hammer", true));
+
+        assertTrue(search("drill", page(0, 10)).isEmpty());
+        assertEquals(List.of(1L), search("hammer", page(0, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onItemChanged_ShouldIndexCommittedChange() {
+        index.index(item(1L, "Drill", "Electric drill", true));
+
+        index.onItemChanged(new ItemChangedEvent(1L, 1L, null, null, "Hammer", "Heavy hammer", true, 1L,
+                LocalDateTime.now()));
+
+        assertTrue(search("drill", page(0, 10)).isEmpty());
+        assertEquals(List.of(1L), search("hammer", page(0, 10)));
+    }
+
+    @Test
+    void index_WithOlderVersion_ShouldKeepNewerEntry() {
+        index.onItemChanged(new ItemChangedEvent(1L, 1L, null, null, "Hammer", "Heavy hammer", true, 2L,
+                LocalDateTime.now()));
+        Item stale = item(1L, "Drill", "Electric drill", true);
+        stale.setVersion(1L);
+
+        index.index(stale);
+
+        assertTrue(search("drill", page(0, 10)).isEmpty());
+        assertEquals(List.of(1L), search("hammer", page(0, 10)));
+    }
+
+    @Test
+    void rebuild_ShouldIndexAllItemsFromRepository() {
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(item(1L, "Drill", "Electric drill", true)),
+                        PageRequest.of(0, 1000, Sort.by("id")), 1));
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), search("drill", page(0, 10)));
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        return new Item(id, name, description, available, owner, null);
+    }
+
+    private List<Long> search(String text, Pageable page) {
+        return index.search(text, null, page).stream().map(ItemSearchIndex.Match::id).toList();
+    }
+
+    private Pageable page(int from, int size) {
+        return OffsetPageRequest.of(from, size, Sort.unsorted());
+    }
+}
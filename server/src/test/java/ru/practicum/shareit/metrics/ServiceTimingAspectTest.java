@@ -0,0 +1,70 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceTimingAspectTest {
+
+    @Mock
+    private UserService userService;
+
+    private SimpleMeterRegistry registry;
+    private UserService timedService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(userService);
+        factory.addAspect(new ServiceTimingAspect(registry));
+        timedService = factory.getProxy();
+    }
+
+    @Test
+    void time_Success_ShouldRecordSuccessOutcome() {
+        when(userService.getById(1L)).thenReturn(new UserDto(1L, "John", "john@example.com"));
+
+        timedService.getById(1L);
+
+        Timer timer = timer("getById", "success");
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void time_NotFound_ShouldRecordOutcomeAndRethrow() {
+        when(userService.getById(1L)).thenThrow(new NotFoundException("Пользователь с id 1 не найден"));
+
+        assertThrows(NotFoundException.class, () -> timedService.getById(1L));
+
+        assertEquals(1, timer("getById", "not_found").count());
+        assertNull(registry.find(ServiceTimingAspect.METRIC).tag("outcome", "success").timer());
+    }
+
+    @Test
+    void outcome_ShouldMirrorErrorHandlerStatuses() {
+        assertEquals("conflict", ServiceTimingAspect.outcome(new ObjectOptimisticLockingFailureException(Item.class, 1L)));
+        assertEquals("error", ServiceTimingAspect.outcome(new IllegalStateException()));
+    }
+
+    private Timer timer(String method, String outcome) {
+        Timer timer = registry.find(ServiceTimingAspect.METRIC)
+                .tags("service", "UserService", "method", method, "outcome", outcome)
+                .timer();
+        assertNotNull(timer);
+        return timer;
+    }
+}
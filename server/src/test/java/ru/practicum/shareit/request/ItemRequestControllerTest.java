@@ -9,8 +9,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
 import ru.practicum.shareit.util.Constants;
 
 import java.time.LocalDateTime;
@@ -21,7 +25,9 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
@@ -84,7 +90,7 @@ class ItemRequestControllerTest {
 
     @Test
     void getAllByRequestor_ShouldReturnListOfItemRequests() throws Exception {
-        when(itemRequestService.getAllByRequestor(anyLong())).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllByRequestor(anyLong(), any(), anyInt())).thenReturn(new ItemRequestPageDto(List.of(itemRequestDto), null));
 
         mockMvc.perform(get("/requests")
                         .header(Constants.USER_ID_HEADER, 1L))
@@ -93,12 +99,12 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].description", is("Need a drill")));
 
-        verify(itemRequestService, times(1)).getAllByRequestor(anyLong());
+        verify(itemRequestService, times(1)).getAllByRequestor(1L, null, 10);
     }
 
     @Test
     void getAll_ShouldReturnListOfItemRequests() throws Exception {
-        when(itemRequestService.getAll(anyLong())).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAll(anyLong(), any(), anyInt())).thenReturn(new ItemRequestPageDto(List.of(itemRequestDto), null));
 
         mockMvc.perform(get("/requests/all")
                         .header(Constants.USER_ID_HEADER, 2L))
@@ -107,7 +113,52 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].description", is("Need a drill")));
 
-        verify(itemRequestService, times(1)).getAll(anyLong());
+        verify(itemRequestService, times(1)).getAll(2L, null, 10);
+    }
+
+    @Test
+    void getAll_WithNextPage_ShouldReturnCursorHeader() throws Exception {
+        when(itemRequestService.getAll(anyLong(), any(), anyInt())).thenReturn(new ItemRequestPageDto(List.of(itemRequestDto), "next"));
+
+        mockMvc.perform(get("/requests/all")
+                        .header(Constants.USER_ID_HEADER, 2L)
+                        .param("cursor", "prev")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemRequestService, times(1)).getAll(2L, "prev", 1);
+    }
+
+    @Test
+    void getInbox_ShouldReturnEntriesWithCursorHeader() throws Exception {
+        RequestInboxEntryDto entry = new RequestInboxEntryDto(1L, 5L, "Drill", "Electric drill", true, 2L,
+                LocalDateTime.now());
+        when(itemRequestService.getInbox(anyLong(), any(), anyInt())).thenReturn(new RequestInboxPageDto(List.of(entry), "next"));
+
+        mockMvc.perform(get("/requests/inbox")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].itemId", is(5)))
+                .andExpect(jsonPath("$[0].requestId", is(1)));
+
+        verify(itemRequestService, times(1)).getInbox(1L, null, 1);
+    }
+
+    @Test
+    void subscribeToUpdates_ShouldStartEventStream() throws Exception {
+        when(itemRequestService.subscribeToUpdates(anyLong())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/requests/updates")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(itemRequestService, times(1)).subscribeToUpdates(1L);
     }
 
     @Test
@@ -6,16 +6,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
+import ru.practicum.shareit.request.inbox.RequestInboxRepository;
+import ru.practicum.shareit.request.inbox.RequestUpdatesBroadcaster;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +46,12 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private RequestInboxRepository requestInboxRepository;
+
+    @Mock
+    private RequestUpdatesBroadcaster requestUpdatesBroadcaster;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -62,7 +78,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void create_WithValidData_ShouldReturnItemRequestDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
         when(itemRequestRepository.save(any(ItemRequest.class))).thenReturn(itemRequest);
 
         ItemRequestDto result = itemRequestService.create(1L, itemRequestDto);
@@ -72,17 +88,17 @@ class ItemRequestServiceImplTest {
         assertEquals(itemRequestDto.getDescription(), result.getDescription());
         assertEquals(itemRequestDto.getRequestorId(), result.getRequestorId());
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, times(1)).save(any(ItemRequest.class));
     }
 
     @Test
     void create_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.create(1L, itemRequestDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, never()).save(any(ItemRequest.class));
     }
 
@@ -90,21 +106,21 @@ class ItemRequestServiceImplTest {
     void create_WithEmptyDescription_ShouldThrowValidationException() {
         ItemRequestDto invalidDto = new ItemRequestDto(1L, "", 1L, now, Collections.emptyList());
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
 
         assertThrows(ValidationException.class, () -> itemRequestService.create(1L, invalidDto));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, never()).save(any(ItemRequest.class));
     }
 
     @Test
     void getAllByRequestor_WithExistingUser_ShouldReturnListOfItemRequestDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(requestor));
-        when(itemRequestRepository.findByRequestorId(anyLong(), any(Sort.class))).thenReturn(List.of(itemRequest));
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
+        when(itemRequestRepository.findByRequestorId(anyLong(), any(Pageable.class))).thenReturn(List.of(new ItemRequestDto(1L, "Need a drill", 1L, now)));
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(ItemMapper.toItemDto(item)));
 
-        List<ItemRequestDto> result = itemRequestService.getAllByRequestor(1L);
+        List<ItemRequestDto> result = itemRequestService.getAllByRequestor(1L, null, 10).getRequests();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -112,28 +128,28 @@ class ItemRequestServiceImplTest {
         assertEquals(itemRequest.getDescription(), result.get(0).getDescription());
         assertEquals(1, result.get(0).getItems().size());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRequestRepository, times(1)).findByRequestorId(anyLong(), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRequestRepository, times(1)).findByRequestorId(anyLong(), any(Pageable.class));
         verify(itemRepository, times(1)).findByRequestIdIn(anyList());
     }
 
     @Test
     void getAllByRequestor_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> itemRequestService.getAllByRequestor(1L));
+        assertThrows(NotFoundException.class, () -> itemRequestService.getAllByRequestor(1L, null, 10));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRequestRepository, never()).findByRequestorId(anyLong(), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRequestRepository, never()).findByRequestorId(anyLong(), any(Pageable.class));
     }
 
     @Test
     void getAll_WithExistingUser_ShouldReturnListOfItemRequestDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(itemRequestRepository.findByRequestorIdNot(anyLong(), any(Sort.class))).thenReturn(List.of(itemRequest));
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(item));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findByRequestorIdNot(anyLong(), any(Pageable.class))).thenReturn(List.of(new ItemRequestDto(1L, "Need a drill", 1L, now)));
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(ItemMapper.toItemDto(item)));
 
-        List<ItemRequestDto> result = itemRequestService.getAll(2L);
+        List<ItemRequestDto> result = itemRequestService.getAll(2L, null, 10).getRequests();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -141,24 +157,96 @@ class ItemRequestServiceImplTest {
         assertEquals(itemRequest.getDescription(), result.get(0).getDescription());
         assertEquals(1, result.get(0).getItems().size());
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRequestRepository, times(1)).findByRequestorIdNot(anyLong(), any(Sort.class));
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRequestRepository, times(1)).findByRequestorIdNot(anyLong(), any(Pageable.class));
         verify(itemRepository, times(1)).findByRequestIdIn(anyList());
     }
 
+    @Test
+    void getAll_WithoutRequests_ShouldNotQueryItems() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findByRequestorIdNot(anyLong(), any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        List<ItemRequestDto> result = itemRequestService.getAll(2L, null, 10).getRequests();
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).findByRequestIdIn(anyList());
+    }
+
     @Test
     void getAll_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.getAll(2L, null, 10));
+
+        verify(userRepository, times(1)).findCachedById(anyLong());
+        verify(itemRequestRepository, never()).findByRequestorIdNot(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getAll_WithFullPage_ShouldReturnNextCursorAndQueryItemsForPageOnly() {
+        ItemRequestDto newer = new ItemRequestDto(3L, "Need a saw", 1L, now);
+        ItemRequestDto older = new ItemRequestDto(2L, "Need a drill", 1L, now.minusHours(1));
+        ItemRequestDto beyondPage = new ItemRequestDto(1L, "Need a ladder", 1L, now.minusHours(2));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findByRequestorIdNot(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(newer, older, beyondPage)));
+
+        ItemRequestPageDto result = itemRequestService.getAll(2L, null, 2);
+
+        assertEquals(List.of(3L, 2L), result.getRequests().stream().map(ItemRequestDto::getId).toList());
+        assertEquals(new KeysetCursor(older.getCreated(), older.getId()).encode(), result.getNextCursor());
+        verify(itemRequestRepository).findByRequestorIdNot(2L, PageRequest.of(0, 3));
+        verify(itemRepository).findByRequestIdIn(List.of(3L, 2L));
+    }
+
+    @Test
+    void getAll_WithCursor_ShouldContinueAfterCursorPosition() {
+        KeysetCursor cursor = new KeysetCursor(now, 2L);
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findByRequestorIdNotBefore(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(new ItemRequestDto(1L, "Need a ladder", 1L, now.minusHours(2)))));
+
+        ItemRequestPageDto result = itemRequestService.getAll(2L, cursor.encode(), 2);
+
+        assertEquals(1, result.getRequests().size());
+        assertNull(result.getNextCursor());
+        verify(itemRequestRepository).findByRequestorIdNotBefore(2L, now, 2L, PageRequest.of(0, 3));
+        verify(itemRequestRepository, never()).findByRequestorIdNot(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByRequestor_WithCursor_ShouldContinueAfterCursorPosition() {
+        KeysetCursor cursor = new KeysetCursor(now, 5L);
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
+        when(itemRequestRepository.findByRequestorIdBefore(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        ItemRequestPageDto result = itemRequestService.getAllByRequestor(1L, cursor.encode(), 10);
+
+        assertTrue(result.getRequests().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(itemRequestRepository).findByRequestorIdBefore(1L, now, 5L, PageRequest.of(0, 11));
+        verify(itemRepository, never()).findByRequestIdIn(anyList());
+    }
+
+    @Test
+    void getAll_WithInvalidCursor_ShouldThrowValidationException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
+
+        assertThrows(ValidationException.class, () -> itemRequestService.getAll(2L, "not-a-cursor", 10));
+    }
 
-        assertThrows(NotFoundException.class, () -> itemRequestService.getAll(2L));
+    @Test
+    void getAll_WithNonPositiveSize_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemRequestService.getAll(2L, null, 0));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRequestRepository, never()).findByRequestorIdNot(anyLong(), any(Sort.class));
+        verify(itemRequestRepository, never()).findByRequestorIdNot(anyLong(), any(Pageable.class));
     }
 
     @Test
     void getById_WithExistingUserAndRequest_ShouldReturnItemRequestDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findByRequestId(anyLong())).thenReturn(List.of(item));
 
@@ -169,30 +257,87 @@ class ItemRequestServiceImplTest {
         assertEquals(itemRequest.getDescription(), result.getDescription());
         assertEquals(1, result.getItems().size());
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).findByRequestId(anyLong());
     }
 
     @Test
     void getById_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getById(1L, 2L));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, never()).findById(anyLong());
     }
 
     @Test
     void getById_WithNonExistingRequest_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(owner));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getById(1L, 2L));
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
         verify(itemRepository, never()).findByRequestId(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getInbox_WithFullPage_ShouldReturnNextCursor() {
+        RequestInboxEntryDto newer = new RequestInboxEntryDto(1L, 3L, "Saw", "Hand saw", true, 2L, now);
+        RequestInboxEntryDto older = new RequestInboxEntryDto(1L, 2L, "Drill", "Electric drill", true, 2L,
+                now.minusHours(1));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
+        when(requestInboxRepository.findByRequestorId(anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(newer, older)));
+
+        RequestInboxPageDto result = itemRequestService.getInbox(1L, null, 1);
+
+        assertEquals(List.of(newer), result.getEntries());
+        assertEquals(new KeysetCursor(newer.getUpdated(), newer.getItemId()).encode(), result.getNextCursor());
+        verify(requestInboxRepository).findByRequestorId(1L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void getInbox_WithCursor_ShouldContinueAfterCursorPosition() {
+        KeysetCursor cursor = new KeysetCursor(now, 3L);
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
+        when(requestInboxRepository.findByRequestorIdBefore(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        RequestInboxPageDto result = itemRequestService.getInbox(1L, cursor.encode(), 10);
+
+        assertTrue(result.getEntries().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(requestInboxRepository).findByRequestorIdBefore(1L, now, 3L, PageRequest.of(0, 11));
+    }
+
+    @Test
+    void getInbox_WithNonExistingUser_ShouldThrowNotFoundException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.getInbox(1L, null, 10));
+
+        verify(requestInboxRepository, never()).findByRequestorId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void subscribeToUpdates_WithExistingUser_ShouldSubscribeRequestor() {
+        SseEmitter emitter = new SseEmitter();
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(requestor));
+        when(requestUpdatesBroadcaster.subscribe(1L)).thenReturn(emitter);
+
+        assertSame(emitter, itemRequestService.subscribeToUpdates(1L));
+    }
+
+    @Test
+    void subscribeToUpdates_WithNonExistingUser_ShouldThrowNotFoundException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.subscribeToUpdates(1L));
+
+        verify(requestUpdatesBroadcaster, never()).subscribe(anyLong());
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.request.inbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestInboxEntryDto;
+import ru.practicum.shareit.request.dto.RequestInboxPageDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// no @Transactional: subscribers are notified after the item commits
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = "shareit-server.url=http://localhost:9090"
+)
+@AutoConfigureMockMvc
+class RequestInboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User requestor;
+    private ItemRequestDto request;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "inbox-owner@example.com"));
+        requestor = userRepository.save(new User(null, "Requestor", "inbox-requestor@example.com"));
+        request = itemRequestService.create(requestor.getId(),
+                new ItemRequestDto(null, "Need a drill", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAllById(itemIds);
+        itemRequestRepository.deleteById(request.getId());
+        userRepository.deleteAll(List.of(owner, requestor));
+    }
+
+    @Test
+    void answeringItem_ShouldBeCopiedToRequestorInboxAndMovedToHeadOnUpdate() {
+        ItemDto drill = answer("Drill");
+        ItemDto saw = answer("Saw");
+        itemService.create(owner.getId(), new ItemDto(null, "Hammer", "Not an answer", true, null));
+        itemIds.add(itemRepository.findByOwnerId(owner.getId()).stream()
+                .filter(item -> item.getRequest() == null).findFirst().orElseThrow().getId());
+
+        assertEquals(List.of(saw.getId(), drill.getId()), inboxItemIds());
+
+        itemService.update(owner.getId(), drill.getId(), new ItemDto(null, null, null, false, null));
+
+        RequestInboxPageDto inbox = itemRequestService.getInbox(requestor.getId(), null, 10);
+        assertEquals(List.of(drill.getId(), saw.getId()), inboxItemIds());
+        assertFalse(inbox.getEntries().get(0).getAvailable());
+        assertEquals(request.getId(), inbox.getEntries().get(0).getRequestId());
+        assertTrue(itemRequestService.getInbox(owner.getId(), null, 10).getEntries().isEmpty());
+    }
+
+    @Test
+    void updates_ShouldStreamCommittedAnswersAsServerSentEvents() throws Exception {
+        MvcResult subscription = mockMvc.perform(get("/requests/updates")
+                        .header(Constants.USER_ID_HEADER, requestor.getId())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist("ETag"))
+                .andReturn();
+
+        ItemDto drill = answer("Drill");
+
+        String events = subscription.getResponse().getContentAsString();
+        assertTrue(events.contains("event:" + RequestUpdatesBroadcaster.EVENT_NAME), events);
+        assertTrue(events.contains("\"itemId\":" + drill.getId()), events);
+        assertTrue(events.contains("\"requestId\":" + request.getId()), events);
+    }
+
+    private ItemDto answer(String name) {
+        ItemDto item = itemService.create(owner.getId(), new ItemDto(null, name, name + " for the request", true,
+                request.getId()));
+        itemIds.add(item.getId());
+        return item;
+    }
+
+    private List<Long> inboxItemIds() {
+        return itemRequestService.getInbox(requestor.getId(), null, 10).getEntries().stream()
+                .map(RequestInboxEntryDto::getItemId)
+                .toList();
+    }
+}
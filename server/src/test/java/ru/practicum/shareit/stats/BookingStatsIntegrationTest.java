@@ -0,0 +1,125 @@
+package ru.practicum.shareit.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// no @Transactional: rollups are recorded after the booking commits
+@SpringBootTest(
+        classes = ShareItServer.class,
+        properties = "shareit-server.url=http://localhost:9090"
+)
+class BookingStatsIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDailyStatsRepository statsRepository;
+
+    @Autowired
+    private StatsService statsService;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "stats-owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "stats-booker@example.com"));
+        drill = itemRepository.save(new Item(null, "Drill", "Electric drill", true, owner, null));
+        saw = itemRepository.save(new Item(null, "Saw", "Hand saw", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<BookingDailyStatsId> ids = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate date : List.of(today, today.plusDays(2), today.plusDays(3))) {
+            ids.add(new BookingDailyStatsId(StatsScope.ITEM, drill.getId(), date));
+            ids.add(new BookingDailyStatsId(StatsScope.ITEM, saw.getId(), date));
+            ids.add(new BookingDailyStatsId(StatsScope.OWNER, owner.getId(), date));
+        }
+        statsRepository.deleteAllById(ids);
+        bookingRepository.deleteAllByIdInBatch(bookingIds);
+        itemRepository.deleteAllById(List.of(drill.getId(), saw.getId()));
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void transitions_ShouldBeRolledUpPerItemAndPerOwner() {
+        LocalDateTime start = LocalDate.now().plusDays(2).atTime(20, 0);
+        long first = book(drill, start, start.plusHours(10));
+        long second = book(drill, start.plusDays(1), start.plusDays(1).plusHours(4));
+        long third = book(saw, start, start.plusHours(6));
+
+        bookingService.approve(owner.getId(), first, true);
+        bookingService.approve(owner.getId(), second, false);
+        bookingService.approve(owner.getId(), third, true);
+
+        LocalDate today = LocalDate.now();
+        BookingStatsDto ownerStats = statsService.getOwnerStats(owner.getId(), today, today);
+        assertEquals(3, ownerStats.getBookings());
+        assertEquals(2, ownerStats.getApproved());
+        assertEquals(1, ownerStats.getRejected());
+        assertEquals(2.0 / 3, ownerStats.getApprovalRate(), 1e-9);
+        assertEquals(0.0, ownerStats.getBookedHours(), 1e-9);
+        assertEquals(Duration.between(LocalDateTime.now(), start).toMinutes() / 60.0 + 8,
+                ownerStats.getAverageLeadTimeHours(), 1.0);
+
+        BookingStatsDto drillStats = statsService.getItemStats(owner.getId(), drill.getId(), today, today);
+        assertEquals(2, drillStats.getBookings());
+        assertEquals(0.5, drillStats.getApprovalRate(), 1e-9);
+
+        // both approved bookings start at 20:00 and run past midnight
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate secondDay = firstDay.plusDays(1);
+        assertEquals(8.0, statsService.getOwnerStats(owner.getId(), firstDay, firstDay).getBookedHours(), 1e-9);
+        assertEquals(8.0, statsService.getOwnerStats(owner.getId(), secondDay, secondDay).getBookedHours(), 1e-9);
+        assertEquals(16.0, statsService.getOwnerStats(owner.getId(), today, secondDay).getBookedHours(), 1e-9);
+        assertEquals(4.0, statsService.getItemStats(owner.getId(), drill.getId(), firstDay, firstDay)
+                .getBookedHours(), 1e-9);
+        assertEquals(6.0, statsService.getItemStats(owner.getId(), drill.getId(), secondDay, secondDay)
+                .getBookedHours(), 1e-9);
+
+        BookingStatsDto yesterday = statsService.getOwnerStats(owner.getId(), today.minusDays(1), today.minusDays(1));
+        assertEquals(0, yesterday.getBookings());
+    }
+
+    private long book(Item item, LocalDateTime start, LocalDateTime end) {
+        long id = bookingService.create(booker.getId(), new BookingDto(null, start, end, item.getId(), null)).getId();
+        bookingIds.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.stats;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+import ru.practicum.shareit.util.Constants;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StatsController.class)
+@ContextConfiguration(classes = {StatsController.class})
+class StatsControllerTest {
+
+    @MockBean
+    private StatsService statsService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getOwnerStats_WithoutPeriod_ShouldDefaultToLastThirtyDays() throws Exception {
+        LocalDate today = LocalDate.now();
+        when(statsService.getOwnerStats(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new BookingStatsDto(today.minusDays(29), today, 2L, 1L, 1L, 0.5, 3.0, 24.0));
+
+        mockMvc.perform(get("/stats")
+                        .header(Constants.USER_ID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", is(2)))
+                .andExpect(jsonPath("$.approvalRate", is(0.5)));
+
+        verify(statsService, times(1)).getOwnerStats(1L, today.minusDays(29), today);
+    }
+
+    @Test
+    void getItemStats_ShouldPassPeriod() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(statsService.getItemStats(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new BookingStatsDto(from, to, 0L, 0L, 0L, null, 0.0, null));
+
+        mockMvc.perform(get("/stats/items/5")
+                        .header(Constants.USER_ID_HEADER, 1L)
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", is(0)));
+
+        verify(statsService, times(1)).getItemStats(1L, 5L, from, to);
+    }
+}
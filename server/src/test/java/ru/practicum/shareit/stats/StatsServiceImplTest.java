@@ -0,0 +1,106 @@
+package ru.practicum.shareit.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.stats.dto.BookingStatsDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceImplTest {
+
+    @Mock
+    private BookingDailyStatsRepository statsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private StatsServiceImpl statsService;
+
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2024, 1, 31);
+    private final User owner = new User(1L, "Owner", "owner@example.com");
+
+    @Test
+    void getOwnerStats_ShouldDeriveRatesFromTotals() {
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(owner));
+        when(statsRepository.sum(StatsScope.OWNER, 1L, from, to))
+                .thenReturn(new BookingStatsTotals(4, 3, 1, 600, 960));
+
+        BookingStatsDto result = statsService.getOwnerStats(1L, from, to);
+
+        assertEquals(4, result.getBookings());
+        assertEquals(0.75, result.getApprovalRate(), 1e-9);
+        assertEquals(10.0, result.getBookedHours(), 1e-9);
+        assertEquals(4.0, result.getAverageLeadTimeHours(), 1e-9);
+    }
+
+    @Test
+    void getOwnerStats_WithoutActivity_ShouldLeaveRatesEmpty() {
+        when(userRepository.findCachedById(1L)).thenReturn(Optional.of(owner));
+        when(statsRepository.sum(StatsScope.OWNER, 1L, from, to)).thenReturn(new BookingStatsTotals(0, 0, 0, 0, 0));
+
+        BookingStatsDto result = statsService.getOwnerStats(1L, from, to);
+
+        assertEquals(0, result.getBookings());
+        assertNull(result.getApprovalRate());
+        assertNull(result.getAverageLeadTimeHours());
+    }
+
+    @Test
+    void getOwnerStats_WithNonExistentUser_ShouldThrowNotFoundException() {
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> statsService.getOwnerStats(99L, from, to));
+        verify(statsRepository, never()).sum(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getOwnerStats_WithTooLongPeriod_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class,
+                () -> statsService.getOwnerStats(1L, from, from.plusDays(StatsServiceImpl.MAX_PERIOD_DAYS)));
+        assertThrows(ValidationException.class, () -> statsService.getOwnerStats(1L, to, from));
+        verify(statsRepository, never()).sum(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getItemStats_ByNonOwner_ShouldThrowForbiddenException() {
+        Item item = new Item(5L, "Drill", "Electric drill", true, owner, null);
+        when(itemRepository.findCachedById(5L)).thenReturn(Optional.of(item));
+
+        assertThrows(ForbiddenException.class, () -> statsService.getItemStats(2L, 5L, from, to));
+        verify(statsRepository, never()).sum(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getItemStats_ByOwner_ShouldSumItemRollups() {
+        Item item = new Item(5L, "Drill", "Electric drill", true, owner, null);
+        when(itemRepository.findCachedById(5L)).thenReturn(Optional.of(item));
+        when(statsRepository.sum(StatsScope.ITEM, 5L, from, to)).thenReturn(new BookingStatsTotals(1, 1, 0, 90, 60));
+
+        BookingStatsDto result = statsService.getItemStats(1L, 5L, from, to);
+
+        assertEquals(1.0, result.getApprovalRate(), 1e-9);
+        assertEquals(1.5, result.getBookedHours(), 1e-9);
+    }
+}
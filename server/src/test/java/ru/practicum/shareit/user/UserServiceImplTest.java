@@ -40,7 +40,7 @@ class UserServiceImplTest {
 
     @Test
     void create_WithValidData_ShouldReturnUserDto() {
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserDto result = userService.create(userDto);
 
@@ -48,15 +48,15 @@ class UserServiceImplTest {
         assertEquals(userDto.getId(), result.getId());
         assertEquals(userDto.getName(), result.getName());
         assertEquals(userDto.getEmail(), result.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
     void create_WithDuplicateEmail_ShouldThrowConflictException() {
-        when(userRepository.save(any(User.class))).thenThrow(DataIntegrityViolationException.class);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(DataIntegrityViolationException.class);
 
         assertThrows(ConflictException.class, () -> userService.create(userDto));
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -133,7 +133,7 @@ class UserServiceImplTest {
 
     @Test
     void getById_WithExistingUser_ShouldReturnUserDto() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user));
 
         UserDto result = userService.getById(1L);
 
@@ -141,25 +141,25 @@ class UserServiceImplTest {
         assertEquals(userDto.getId(), result.getId());
         assertEquals(userDto.getName(), result.getName());
         assertEquals(userDto.getEmail(), result.getEmail());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
     }
 
     @Test
     void getById_WithNonExistingUser_ShouldThrowNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> userService.getById(1L));
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).findCachedById(anyLong());
     }
 
     @Test
     void getAll_ShouldReturnListOfUserDto() {
-        List<User> users = List.of(
-                new User(1L, "John Doe", "john@example.com"),
-                new User(2L, "Jane Doe", "jane@example.com")
+        List<UserDto> users = List.of(
+                new UserDto(1L, "John Doe", "john@example.com"),
+                new UserDto(2L, "Jane Doe", "jane@example.com")
         );
 
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllUserDtos()).thenReturn(users);
 
         List<UserDto> result = userService.getAll();
 
@@ -167,7 +167,7 @@ class UserServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("John Doe", result.get(0).getName());
         assertEquals("Jane Doe", result.get(1).getName());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllUserDtos();
     }
 
     @Test